@@ -0,0 +1,101 @@
+/**<p>*********************************************************************************************************************
+ * <h1>BuilderBenchmark</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           createStatement of every builder
+ *           update and delete statements read through Statements
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.benchmark;
+
+import com.badlogic.gdx.sql.benchmark.JdbcBuilders.Col;
+import com.badlogic.gdx.sql.builder.Condition;
+import com.badlogic.gdx.sql.builder.OrderType;
+import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
+import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
+import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
+import com.badlogic.gdx.sql.builder.Statements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the SQL text of each builder, paid on every call that does not reuse a PreparedQuery.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BuilderBenchmark {
+    private SqlBuilderSelect select;
+    private SqlBuilderSelect selectPage;
+    private SqlBuilderInsert insert;
+    private SqlBuilderUpsert upsert;
+    private SqlBuilderUpdate update;
+    private SqlBuilderDelete delete;
+
+    @Setup
+    public void setup() {
+        select = JdbcBuilders.select(null).table(JdbcBuilders.TABLE)
+            .select(Col.ID).select(Col.NAME).select(Col.LEVEL).select(Col.SCORE)
+            .where(Col.OWNER, 7);
+        selectPage = JdbcBuilders.select(null).table(JdbcBuilders.TABLE)
+            .select(Col.ID).select(Col.NAME).select(Col.SCORE)
+            .where(Condition.between(Col.LEVEL, 3, 7))
+            .orderBy(Col.SCORE, OrderType.DESC).orderBy(Col.ID, OrderType.DESC)
+            .after(12.5, 1000).limit(50);
+        insert = JdbcBuilders.insert().table(JdbcBuilders.TABLE)
+            .value(Col.NAME, "sword").value(Col.LEVEL, 3).value(Col.SCORE, 12.5).value(Col.OWNER, 7);
+        upsert = JdbcBuilders.upsert().table(JdbcBuilders.TABLE)
+            .value(Col.ID, 1).value(Col.NAME, "sword").value(Col.LEVEL, 3).value(Col.SCORE, 12.5)
+            .onConflict(Col.ID);
+        update = JdbcBuilders.update().table(JdbcBuilders.TABLE)
+            .value(Col.NAME, "axe").value(Col.SCORE, 3.5)
+            .where(Col.ID, 1);
+        delete = JdbcBuilders.delete().table(JdbcBuilders.TABLE)
+            .where(Col.OWNER, 7).where(Condition.lt(Col.LEVEL, 3));
+    }
+
+    @Benchmark
+    public String select() {
+        return select.createStatement();
+    }
+
+    @Benchmark
+    public String selectKeysetPage() {
+        return selectPage.createStatement();
+    }
+
+    @Benchmark
+    public String insert() {
+        return insert.createStatement();
+    }
+
+    @Benchmark
+    public String upsert() {
+        return upsert.createStatement();
+    }
+
+    @Benchmark
+    public String update() {
+        return Statements.sql(update);
+    }
+
+    @Benchmark
+    public String delete() {
+        return Statements.sql(delete);
+    }
+}
@@ -0,0 +1,175 @@
+/**<p>*********************************************************************************************************************
+ * <h1>CrudBenchmark</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Insert, update, select and delete throughput on sqlite-jdbc
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.benchmark;
+
+import com.badlogic.gdx.sql.StatementCache;
+import com.badlogic.gdx.sql.benchmark.JdbcBuilders.Col;
+import com.badlogic.gdx.sql.builder.Condition;
+import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
+import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
+import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the statements the Handler runs on JDBC, through a StatementCache as the Handler does. Each
+ * invocation handles batch rows: one statement for a batch of 1, otherwise insertAll for inserts, an IN list for
+ * deletes, a range for selects and one transaction of single-row statements for updates. Divide the score by batch
+ * for the rows per second. Run with the gc profiler (the default of the jmh task) for the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CrudBenchmark {
+    private static final int PRELOADED = 10_000;
+
+    @Param({"memory", "file"})
+    public String storage;
+
+    @Param({"1", "100"})
+    public int batch;
+
+    private Connection connection;
+    private StatementCache cache;
+    private SqlBuilderInsert insert;
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException, IOException {
+        connection = JdbcBuilders.open(storage);
+        cache = new StatementCache(connection, StatementCache.DEFAULT_CAPACITY);
+        insert = JdbcBuilders.insert().table(JdbcBuilders.TABLE).columns(Col.NAME, Col.LEVEL, Col.SCORE, Col.OWNER);
+        for (int i = 0; i < PRELOADED; i++) {
+            insert.row("item" + i, i % 50, i * 0.5, i % 100);
+        }
+        insert.insertAll(cache);
+        insert.clearRows();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        cache.close();
+        connection.close();
+    }
+
+    /** @return the id of the first of batch preloaded rows, cycling over them */
+    private int nextId() {
+        if (next + batch > PRELOADED) next = 0;
+        final int id = next + 1;
+        next += batch;
+        return id;
+    }
+
+    private long[] insertBatch() throws SQLException {
+        if (batch == 1) {
+            final SqlBuilderInsert single = JdbcBuilders.insert().table(JdbcBuilders.TABLE)
+                .value(Col.NAME, "new").value(Col.LEVEL, 1).value(Col.SCORE, 1.5).value(Col.OWNER, 1);
+            return new long[]{single.insert(cache).orElse(0)};
+        }
+        for (int i = 0; i < batch; i++) {
+            insert.row("new" + i, i % 50, i * 0.5, i % 100);
+        }
+        try {
+            return insert.insertAll(cache);
+        } finally {
+            insert.clearRows();
+        }
+    }
+
+    @Benchmark
+    public long[] insert() throws SQLException {
+        return insertBatch();
+    }
+
+    /** Inserts batch rows and deletes them, compare with {@link #insert()} for the cost of the delete. */
+    @Benchmark
+    public Object delete() throws SQLException {
+        final long[] ids = insertBatch();
+        final SqlBuilderDelete delete = JdbcBuilders.delete().table(JdbcBuilders.TABLE);
+        if (ids.length == 1) {
+            delete.where(Col.ID, ids[0]);
+        } else {
+            final List<Long> list = new ArrayList<>(ids.length);
+            for (long id : ids) list.add(id);
+            delete.where(Condition.in(Col.ID, list));
+        }
+        return delete.delete(cache);
+    }
+
+    @Benchmark
+    public int update() throws SQLException {
+        final int first = nextId();
+        if (batch == 1) {
+            return updateOne(first);
+        }
+        connection.setAutoCommit(false);
+        try {
+            int changed = 0;
+            for (int id = first; id < first + batch; id++) {
+                changed += updateOne(id);
+            }
+            connection.commit();
+            return changed;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private int updateOne(int id) throws SQLException {
+        return JdbcBuilders.update().table(JdbcBuilders.TABLE)
+            .value(Col.SCORE, id * 0.25).value(Col.LEVEL, id % 50)
+            .where(Col.ID, id)
+            .update(cache).orElse(0);
+    }
+
+    @Benchmark
+    public void select(Blackhole blackhole) throws SQLException {
+        final int first = nextId();
+        final SqlBuilderSelect select = JdbcBuilders.select(null).table(JdbcBuilders.TABLE)
+            .select(Col.ID).select(Col.NAME).select(Col.LEVEL).select(Col.SCORE);
+        if (batch == 1) {
+            select.where(Col.ID, first);
+        } else {
+            select.where(Condition.between(Col.ID, first, first + batch - 1));
+        }
+        try (ResultSet rs = select.executeQuery(cache)) {
+            while (rs.next()) {
+                blackhole.consume(rs.getInt(1));
+                blackhole.consume(rs.getString(2));
+                blackhole.consume(rs.getInt(3));
+                blackhole.consume(rs.getDouble(4));
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/**<p>*********************************************************************************************************************
+ * <h1>JdbcBuilders</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Builders and schema shared by the benchmarks
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.benchmark;
+
+import com.badlogic.gdx.sql.DatabaseCursor;
+import com.badlogic.gdx.sql.builder.Column;
+import com.badlogic.gdx.sql.builder.ResultMapper;
+import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
+import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
+import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Builders for the benchmarks, which run outside of a libGDX application: the platform hooks are not used, every
+ * statement runs through the StatementCache methods of the builders, as the Handler does on JDBC.
+ */
+final class JdbcBuilders {
+
+    enum Col implements Column {
+        ID(Types.INTEGER), NAME(Types.VARCHAR), LEVEL(Types.INTEGER), SCORE(Types.DOUBLE), OWNER(Types.INTEGER);
+
+        private final int type;
+
+        Col(int type) {
+            this.type = type;
+        }
+
+        @Override
+        public String getName() {
+            return name().toLowerCase();
+        }
+
+        @Override
+        public int getType() {
+            return type;
+        }
+    }
+
+    static final String TABLE = "items";
+    static final String CREATE = "CREATE TABLE items (id INTEGER PRIMARY KEY, name TEXT, level INTEGER, score REAL,"
+        + " owner INTEGER);";
+
+    private JdbcBuilders() {}
+
+    /**
+     * @param storage "memory" for an in-memory database, "file" for a database in a temporary file
+     * @return a connection to an empty database holding the items table
+     */
+    static Connection open(String storage) throws SQLException, IOException {
+        final String url;
+        if ("file".equals(storage)) {
+            final File file = File.createTempFile("gdx-sqlite-bench", ".db");
+            file.deleteOnExit();
+            url = "jdbc:sqlite:" + file.getAbsolutePath();
+        } else {
+            url = "jdbc:sqlite::memory:";
+        }
+        final Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE);
+        }
+        return connection;
+    }
+
+    static SqlBuilderInsert insert() {
+        return new SqlBuilderInsert() {
+            @Override
+            public OptionalLong insert(Connection connection) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public OptionalLong insert(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public long[] insertAll(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    static SqlBuilderUpsert upsert() {
+        return new SqlBuilderUpsert() {
+            @Override
+            public OptionalInt upsert(Connection connection) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public OptionalInt upsert(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int upsertAll(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    static SqlBuilderUpdate update() {
+        return new SqlBuilderUpdate() {
+            @Override
+            public OptionalInt update(Connection connection) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public OptionalInt update(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    static SqlBuilderDelete delete() {
+        return new SqlBuilderDelete() {
+            @Override
+            public OptionalInt delete(Connection connection) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public OptionalInt delete(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    static SqlBuilderSelect select(ResultMapper<?> mapper) {
+        return new SqlBuilderSelect(mapper) {
+            @Override
+            protected Object preparedStatementAndroid(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected Object preparedStatementWin(Connection connection) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public DatabaseCursor getCursor(Connection connection) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public DatabaseCursor getCursor(DatabaseCursor cursor, Connection connection) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public DatabaseCursor getCursor(Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public DatabaseCursor getCursor(DatabaseCursor cursor, Object androidDatabase) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected DatabaseCursor cursor(ResultSet resultSet) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected DatabaseCursor getCursor(Object androidDatabase, String sql, String[] selectionArgs) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+/**<p>*********************************************************************************************************************
+ * <h1>MapperBenchmark</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           ClassResultMapper.map as the row and column counts grow
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.benchmark;
+
+import com.badlogic.gdx.sql.builder.ClassResultMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps every row of a query result with {@link ClassResultMapper}, on an in-memory table so that mapping dominates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    public static class Row4 {
+        public int c0;
+        public int c1;
+        public int c2;
+        public int c3;
+    }
+
+    public static class Row16 {
+        public int c0;
+        public int c1;
+        public int c2;
+        public int c3;
+        public int c4;
+        public int c5;
+        public int c6;
+        public int c7;
+        public int c8;
+        public int c9;
+        public int c10;
+        public int c11;
+        public int c12;
+        public int c13;
+        public int c14;
+        public int c15;
+    }
+
+    private static final int MAX_ROWS = 10_000;
+
+    @Param({"1", "100", "10000"})
+    public int rows;
+
+    @Param({"4", "16"})
+    public int columns;
+
+    private Connection connection;
+    private PreparedStatement query;
+    private ClassResultMapper<?> mapper;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        final StringBuilder create = new StringBuilder("CREATE TABLE wide (");
+        final StringBuilder insert = new StringBuilder("INSERT INTO wide VALUES (");
+        final StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < 16; i++) {
+            create.append(i == 0 ? "" : ", ").append('c').append(i).append(" INTEGER");
+            insert.append(i == 0 ? "?" : ", ?");
+            if (i < columns) select.append(i == 0 ? "" : ", ").append('c').append(i);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(create.append(");").toString());
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(insert.append(");").toString())) {
+            for (int r = 0; r < MAX_ROWS; r++) {
+                for (int i = 0; i < 16; i++) {
+                    ps.setInt(i + 1, r * 16 + i);
+                }
+                ps.executeUpdate();
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        query = connection.prepareStatement(select.append(" FROM wide LIMIT ?;").toString());
+        query.setInt(1, rows);
+        mapper = columns == 4 ? new ClassResultMapper<>(Row4.class) : new ClassResultMapper<>(Row16.class);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        query.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void map(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(mapper.map(rs));
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/**<p>*********************************************************************************************************************
+ * <h1>AsyncHandler</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Handler calls run on a database executor, results as CompletableFuture
+ *           Added upsert and upsertAll
+ *           Added query, rows read and mapped on the database executor
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.sql.builder.PreparedQuery;
+import com.badlogic.gdx.sql.builder.ResultMapper;
+import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
+import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
+import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the calls of a {@link Handler} on a dedicated database executor instead of the calling thread, which in a
+ * libGDX game is usually the render thread. Every method returns at once with a CompletableFuture.
+ * <p>
+ * Futures complete on the database thread by default. With postToRenderThread they complete through
+ * Gdx.app.postRunnable instead, so the callbacks attached to them run on the render thread, before the next frame.
+ * A {@link DatabaseCursor} is not thread-safe, read it on one thread only. Prefer {@link #query} when the rows should
+ * be read off the render thread too.
+ * <p>
+ * Use one thread unless the handler runs in pool mode, see {@link Handler#setReadConnections(int)}.
+ */
+public class AsyncHandler implements Closeable {
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final Handler handler;
+    private final ExecutorService executor;
+    private final Executor completion;
+
+    /**
+     * Single database thread, futures complete on it.
+     * @param handler the handler to run the calls on
+     */
+    public AsyncHandler(Handler handler) {
+        this(handler, 1, false);
+    }
+
+    /**
+     * @param handler the handler to run the calls on
+     * @param threads number of database threads
+     * @param postToRenderThread true to complete the futures on the render thread through Gdx.app.postRunnable
+     */
+    public AsyncHandler(Handler handler, int threads, boolean postToRenderThread) {
+        this.handler = handler;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "gdx-sqlite-" + THREADS.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.completion = postToRenderThread ? r -> Gdx.app.postRunnable(r) : Runnable::run;
+    }
+
+    public Handler handler() {
+        return handler;
+    }
+
+    /**
+     * Only the prepare and the first step of the query run on the database executor. The cursor is lazy, each
+     * {@link DatabaseCursor#next()} after that steps the statement on the thread that calls it, use
+     * {@link #query(SqlBuilderSelect, ResultMapper)} to read every row on the executor.
+     */
+    public CompletableFuture<DatabaseCursor> getCursor(SqlBuilderSelect builder) {
+        return submit(() -> handler.getCursor(builder));
+    }
+
+    /**
+     * Same as {@link #getCursor(SqlBuilderSelect)}, the rows are stepped on the thread that reads the cursor.
+     */
+    public CompletableFuture<DatabaseCursor> getCursor(PreparedQuery query, Object... values) {
+        return submit(() -> handler.getCursor(query, values));
+    }
+
+    /**
+     * Runs the query and reads and maps all its rows on the database executor, the future completes with the whole
+     * result in memory. Only on JDBC like {@link Handler#iterate(SqlBuilderSelect, ResultMapper, int)}, on Android the
+     * future fails with E529.
+     * @param builder the query
+     * @param mapper maps each row, null for the result mapper of the builder
+     * @return future of the mapped rows, in the order of the result
+     */
+    public <T> CompletableFuture<List<T>> query(SqlBuilderSelect builder, ResultMapper<T> mapper) {
+        return submit(() -> {
+            try (RowIterator<T> rows = handler.iterate(builder, mapper, 0)) {
+                List<T> result = new ArrayList<>();
+                while (rows.hasNext()) result.add(rows.next());
+                return result;
+            }
+        });
+    }
+
+    public CompletableFuture<OptionalLong> insert(SqlBuilderInsert builder) {
+        return submit(() -> handler.insert(builder));
+    }
+
+    public CompletableFuture<long[]> insertAll(SqlBuilderInsert builder) {
+        return submit(() -> handler.insertAll(builder));
+    }
+
+    public CompletableFuture<OptionalInt> upsert(SqlBuilderUpsert builder) {
+        return submit(() -> handler.upsert(builder));
+    }
+
+    public CompletableFuture<Integer> upsertAll(SqlBuilderUpsert builder) {
+        return submit(() -> handler.upsertAll(builder));
+    }
+
+    public CompletableFuture<OptionalInt> update(SqlBuilderUpdate builder) {
+        return submit(() -> handler.update(builder));
+    }
+
+    public CompletableFuture<OptionalInt> delete(SqlBuilderDelete builder) {
+        return submit(() -> handler.delete(builder));
+    }
+
+    public <T> CompletableFuture<T> inTransaction(TransactionMode mode, Transaction<T> work) {
+        return submit(() -> handler.inTransaction(mode, work));
+    }
+
+    /**
+     * Runs any work with the handler on the database executor.
+     * @param work the work to run
+     * @return future of the result of work
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                T result;
+                try {
+                    result = work.call();
+                } catch (Throwable t) {
+                    completion.execute(() -> future.completeExceptionally(t));
+                    return;
+                }
+                completion.execute(() -> future.complete(result));
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Stops accepting work and waits for the queued work to finish, the handler itself is not closed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
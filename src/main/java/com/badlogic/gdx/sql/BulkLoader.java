@@ -0,0 +1,513 @@
+/**<p>*********************************************************************************************************************
+ * <h1>BulkLoader</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Streams CSV or JSON lines asset files into a table, in chunked transactions
+ *           UNIQUE indexes kept, a failed index rebuild fails the load, rows inserted without their row ids
+ *           indexes dropped and created in transactions of the handler
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * E532: Malformed record %d of %s
+ * E533: Unable to read %s
+ * E534: Unable to rebuild index %s after the load of %s
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.sql.builder.Column;
+import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
+import com.badlogic.gdx.sql.builder.SqlBuilderInsertFactory;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Seeds a table from a CSV or JSON lines file, typically an asset read on first launch. The file is read as a stream,
+ * one record at a time, and the rows are inserted by chunk, each chunk one transaction on one reused statement, see
+ * {@link Handler#insertAll(SqlBuilderInsert)}.
+ * <pre>
+ * BulkLoader.Result result = BulkLoader.csv(Gdx.files.internal("data/items.csv"))
+ *     .into("items")
+ *     .map("id", ID).map("name", NAME).map("price", PRICE)
+ *     .rebuildIndexes(true)
+ *     .load(Handler.getInstance());
+ * </pre>
+ * A CSV file starts with a header row naming its fields, values follow RFC 4180: separated by commas, quoted with
+ * double quotes when they hold a comma, a quote or a line break. A JSON lines file holds one object per line. A field
+ * is converted to the type of its column, an empty CSV field is NULL for a column that is not text.
+ * <p>
+ * With rebuildIndexes the indexes of the table are dropped before the load and created again after it, which is
+ * faster than updating them row by row for a large load. UNIQUE indexes are kept, the constraints they enforce
+ * must hold during the load.
+ */
+public class BulkLoader {
+    private static final String TAG = BulkLoader.class.getCanonicalName();
+    private static final String E532 = "Malformed record %d of %s";
+    private static final String E533 = "Unable to read %s";
+    private static final String E534 = "Unable to rebuild index %s after the load of %s";
+
+    /** Rows inserted per transaction by default. */
+    public static final int DEFAULT_CHUNK_SIZE = 5000;
+
+    private enum Format { CSV, JSON_LINES }
+
+    /**
+     * Outcome of a load.
+     */
+    public static final class Result {
+        private final long rows;
+        private final long nanos;
+
+        Result(long rows, long nanos) {
+            this.rows = rows;
+            this.nanos = nanos;
+        }
+
+        /** @return number of rows inserted */
+        public long rows() {
+            return rows;
+        }
+
+        /** @return duration of the load, index rebuild included */
+        public long millis() {
+            return nanos / 1_000_000L;
+        }
+
+        /** @return rows inserted per second, 0 for an empty load */
+        public double rowsPerSecond() {
+            return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows in %d ms (%.0f rows/s)", rows, millis(), rowsPerSecond());
+        }
+    }
+
+    private final FileHandle file;
+    private final Format format;
+    private final Map<String, Column> fields = new LinkedHashMap<>();
+    private String table;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private boolean rebuildIndexes;
+    private Supplier<SqlBuilderInsert> builders;
+
+    private BulkLoader(FileHandle file, Format format) {
+        this.file = file;
+        this.format = format;
+    }
+
+    /** @return a loader of the CSV file, its first row naming the fields */
+    public static BulkLoader csv(FileHandle file) {
+        return new BulkLoader(file, Format.CSV);
+    }
+
+    /** @return a loader of the JSON lines file, one object per line */
+    public static BulkLoader jsonLines(FileHandle file) {
+        return new BulkLoader(file, Format.JSON_LINES);
+    }
+
+    /**
+     * @param table name of the table the rows are inserted into
+     * @return the loader this was invoked on
+     */
+    public BulkLoader into(String table) {
+        this.table = table;
+        return this;
+    }
+
+    /**
+     * Maps a field of the file to a column, fields that are not mapped are skipped.
+     *
+     * @param field name of the field, in the CSV header or the JSON objects
+     * @param column the column the field is inserted into
+     * @return the loader this was invoked on
+     */
+    public BulkLoader map(String field, Column column) {
+        fields.put(field, column);
+        return this;
+    }
+
+    /**
+     * Maps every column to the field of the same name.
+     *
+     * @return the loader this was invoked on
+     */
+    public BulkLoader map(Column... columns) {
+        for (Column column : columns) {
+            fields.put(column.getName(), column);
+        }
+        return this;
+    }
+
+    /**
+     * @param chunkSize rows inserted per transaction, {@link #DEFAULT_CHUNK_SIZE} when not set
+     * @return the loader this was invoked on
+     */
+    public BulkLoader chunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @param rebuildIndexes true to drop the indexes of the table before the load and create them again after it
+     * @return the loader this was invoked on
+     */
+    public BulkLoader rebuildIndexes(boolean rebuildIndexes) {
+        this.rebuildIndexes = rebuildIndexes;
+        return this;
+    }
+
+    /**
+     * @param builders creates the insert builder, the one of {@link SqlBuilderInsertFactory} when not set
+     * @return the loader this was invoked on
+     */
+    public BulkLoader builders(Supplier<SqlBuilderInsert> builders) {
+        this.builders = builders;
+        return this;
+    }
+
+    /**
+     * Inserts every record of the file. A chunk that fails is rolled back and the exception thrown, the chunks
+     * before it stay inserted. Dropped indexes are created again in every case.
+     *
+     * @param handler handler the rows are inserted through
+     * @return the number of rows and the rate of the load
+     * @throws SQLiteGdxException if the file can not be read or holds a malformed record, or if a dropped index
+     * can not be created again
+     */
+    public Result load(Handler handler) throws SQLiteGdxException, SQLException {
+        if (table == null || fields.isEmpty()) {
+            throw new IllegalStateException("A load needs a table and at least one mapped field");
+        }
+        final long start = System.nanoTime();
+        final List<String> indexes = rebuildIndexes ? dropIndexes(handler) : new ArrayList<>();
+        final long rows;
+        try {
+            rows = insertRecords(handler);
+        } catch (Throwable e) {
+            try {
+                createIndexes(handler, indexes);
+            } catch (SQLiteGdxException | SQLException | RuntimeException rebuild) {
+                e.addSuppressed(rebuild);
+            }
+            throw e;
+        }
+        createIndexes(handler, indexes);
+        return new Result(rows, System.nanoTime() - start);
+    }
+
+    private long insertRecords(Handler handler) throws SQLiteGdxException, SQLException {
+        long rows = 0;
+        try (BufferedReader reader = file.reader(64 * 1024, "UTF-8")) {
+            final Column[] columns = fields.values().toArray(new Column[0]);
+            final SqlBuilderInsert builder = newBuilder().table(table).columns(columns);
+            final Records records = format == Format.CSV ? new CsvRecords(reader) : new JsonRecords(reader);
+            int inChunk = 0;
+            Object[] row;
+            while ((row = records.next()) != null) {
+                builder.row(row);
+                if (++inChunk == chunkSize) {
+                    rows += insert(handler, builder);
+                    inChunk = 0;
+                }
+            }
+            if (inChunk > 0) {
+                rows += insert(handler, builder);
+            }
+        } catch (IOException e) {
+            throw new SQLiteGdxException(String.format(E533, file.path()), e);
+        }
+        return rows;
+    }
+
+    private static int insert(Handler handler, SqlBuilderInsert builder) throws SQLiteGdxException, SQLException {
+        try {
+            return handler.inTransaction(TransactionMode.IMMEDIATE, h -> h.insertBatch(builder));
+        } finally {
+            builder.clearRows();
+        }
+    }
+
+    private SqlBuilderInsert newBuilder() throws SQLiteGdxException {
+        if (builders != null) return builders.get();
+        try {
+            return new SqlBuilderInsertFactory().builderInsert();
+        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException | InstantiationException
+                 | IllegalAccessException e) {
+            throw new SQLiteGdxException(e);
+        }
+    }
+
+    /**
+     * Drops the indexes created with CREATE INDEX on the table, in one transaction of the handler. UNIQUE indexes
+     * are kept: without them the load could insert duplicates, and the index could not be created again.
+     *
+     * @return the statement creating each index dropped
+     */
+    @SuppressWarnings("deprecation")
+    private List<String> dropIndexes(Handler handler) throws SQLiteGdxException, SQLException {
+        return handler.inTransaction(TransactionMode.IMMEDIATE, h -> {
+            final List<String> names = new ArrayList<>();
+            final DatabaseCursor list = h.db().rawQuery("PRAGMA index_list(\"" + table.replace("\"", "\"\"") + "\");");
+            try {
+                while (list.next()) {
+                    if (list.getInt(2) == 0) names.add(list.getString(1));
+                }
+            } finally {
+                list.close();
+            }
+            final List<String> statements = new ArrayList<>();
+            for (String name : names) {
+                final DatabaseCursor cursor = h.db().rawQuery("SELECT sql FROM sqlite_master WHERE type = 'index'"
+                    + " AND sql IS NOT NULL AND name = '" + name.replace("'", "''") + "';");
+                try {
+                    if (!cursor.next()) continue;
+                    statements.add(cursor.getString(0));
+                } finally {
+                    cursor.close();
+                }
+                h.db().execSQL("DROP INDEX \"" + name.replace("\"", "\"\"") + "\";");
+            }
+            return statements;
+        });
+    }
+
+    /**
+     * Creates the dropped indexes again in one transaction of the handler, each in a savepoint of its own so that
+     * the others are created when one fails.
+     *
+     * @throws SQLiteGdxException if an index can not be created, the other failures suppressed by it
+     */
+    @SuppressWarnings("deprecation")
+    private void createIndexes(Handler handler, List<String> statements) throws SQLiteGdxException, SQLException {
+        if (statements.isEmpty()) return;
+        final List<SQLiteGdxException> failures = new ArrayList<>();
+        handler.inTransaction(TransactionMode.IMMEDIATE, h -> {
+            for (String sql : statements) {
+                try {
+                    h.inTransaction(inner -> {
+                        inner.db().execSQL(sql + ";");
+                        return null;
+                    });
+                } catch (SQLiteGdxException | SQLException e) {
+                    Gdx.app.error(TAG, String.format(E534, sql, table) + " : " + e);
+                    failures.add(new SQLiteGdxException(String.format(E534, sql, table), e));
+                }
+            }
+            return null;
+        });
+        if (!failures.isEmpty()) {
+            final SQLiteGdxException failure = failures.get(0);
+            for (int i = 1; i < failures.size(); i++) {
+                failure.addSuppressed(failures.get(i));
+            }
+            throw failure;
+        }
+    }
+
+    private static Object convert(String text, int type) {
+        switch (type) {
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+            case Types.BIGINT:
+                if (text.isEmpty()) return null;
+                try {
+                    return Long.valueOf(text.trim());
+                } catch (NumberFormatException e) {
+                    return Double.valueOf(text.trim());
+                }
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return text.isEmpty() ? null : Double.valueOf(text.trim());
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return text.isEmpty() ? null : "1".equals(text.trim()) || Boolean.parseBoolean(text.trim());
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return text.isEmpty() ? null : Base64.getDecoder().decode(text.trim());
+            default:
+                return text;
+        }
+    }
+
+    /** Reads the mapped values of one record at a time. */
+    private abstract class Records {
+        final BufferedReader reader;
+        long record;
+
+        Records(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /** @return the values of the next record, in the order of the mapped fields, null at the end of the file */
+        abstract Object[] next() throws IOException, SQLiteGdxException;
+
+        SQLiteGdxException malformed(Exception cause) {
+            return new SQLiteGdxException(String.format(E532, record, file.path()), cause);
+        }
+    }
+
+    private final class CsvRecords extends Records {
+        /** Index in a record of each mapped field, -1 when the header does not name it. */
+        private final int[] positions;
+        private final List<String> values = new ArrayList<>();
+        private final StringBuilder value = new StringBuilder();
+
+        CsvRecords(BufferedReader reader) throws IOException, SQLiteGdxException {
+            super(reader);
+            if (!read()) {
+                throw malformed(new IllegalArgumentException("The header row is missing"));
+            }
+            positions = new int[fields.size()];
+            int i = 0;
+            for (String field : fields.keySet()) {
+                positions[i++] = header(field);
+            }
+        }
+
+        private int header(String field) {
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i).trim().equalsIgnoreCase(field)) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object[] next() throws IOException, SQLiteGdxException {
+            if (!read()) return null;
+            final Object[] row = new Object[positions.length];
+            int i = 0;
+            try {
+                for (Column column : fields.values()) {
+                    final int position = positions[i];
+                    row[i++] = position < 0 || position >= values.size() ? null : convert(values.get(position), column.getType());
+                }
+            } catch (IllegalArgumentException e) {
+                throw malformed(e);
+            }
+            return row;
+        }
+
+        /** Reads the values of the next record, skipping empty lines. @return false at the end of the file */
+        private boolean read() throws IOException, SQLiteGdxException {
+            values.clear();
+            value.setLength(0);
+            boolean quoted = false;
+            boolean started = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c != '"') {
+                        value.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        value.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    started = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                    started = true;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') reader.reset();
+                    }
+                    if (started || value.length() > 0) break;
+                } else {
+                    value.append((char) c);
+                    started = true;
+                }
+            }
+            if (quoted) {
+                record++;
+                throw malformed(new IllegalArgumentException("Unterminated quoted value"));
+            }
+            if (!started && value.length() == 0) return false;
+            values.add(value.toString());
+            record++;
+            return true;
+        }
+    }
+
+    private final class JsonRecords extends Records {
+        private final JsonReader json = new JsonReader();
+
+        JsonRecords(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        Object[] next() throws IOException, SQLiteGdxException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+            } while (line.trim().isEmpty());
+            record++;
+            final JsonValue object;
+            try {
+                object = json.parse(line);
+            } catch (SerializationException e) {
+                throw malformed(e);
+            }
+            if (object == null || !object.isObject()) {
+                throw malformed(new IllegalArgumentException("Not a JSON object"));
+            }
+            final Object[] row = new Object[fields.size()];
+            int i = 0;
+            try {
+                for (Map.Entry<String, Column> field : fields.entrySet()) {
+                    row[i++] = value(object.get(field.getKey()), field.getValue().getType());
+                }
+            } catch (IllegalArgumentException e) {
+                throw malformed(e);
+            }
+            return row;
+        }
+
+        private Object value(JsonValue value, int type) {
+            if (value == null || value.isNull()) return null;
+            if (value.isBoolean()) return value.asBoolean();
+            if (value.isLong()) return value.asLong();
+            if (value.isDouble()) return value.asDouble();
+            if (value.isValue()) return convert(value.asString(), type);
+            return value.prettyPrint(JsonWriter.OutputType.json, Integer.MAX_VALUE);
+        }
+    }
+}
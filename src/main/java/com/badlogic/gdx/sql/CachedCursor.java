@@ -0,0 +1,160 @@
+/**<p>*********************************************************************************************************************
+ * <h1>CachedCursor</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           DatabaseCursor over rows read into memory, shared by the cursors of a QueryCache entry
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cursor over a result held in memory, as returned by {@link Handler#getCursor} for a query answered by the
+ * {@link QueryCache}. The rows are shared by every cursor of the same cache entry and never changed, each cursor only
+ * has its own position. Getters convert the stored value like SQLite does: numbers between each other, anything to a
+ * String, NULL to 0 or null.
+ */
+public final class CachedCursor implements DatabaseCursor {
+    private final Object[][] rows;
+    private int position = -1;
+
+    CachedCursor(final Object[][] rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Reads every remaining row of resultSet and closes it.
+     *
+     * @param resultSet the result to read
+     * @return the rows, one value per column
+     * @throws SQLException if the result can not be read
+     */
+    static Object[][] read(final ResultSet resultSet) throws SQLException {
+        try {
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            final int columns = metaData.getColumnCount();
+            final List<Object[]> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                rows.add(row(resultSet, columns));
+            }
+            return rows.toArray(new Object[0][]);
+        } finally {
+            resultSet.close();
+        }
+    }
+
+    /**
+     * @param resultSet a result positioned on a row
+     * @return the values of the current row
+     * @throws SQLException if the result can not be read
+     */
+    static Object[] row(final ResultSet resultSet) throws SQLException {
+        return row(resultSet, resultSet.getMetaData().getColumnCount());
+    }
+
+    private static Object[] row(final ResultSet resultSet, final int columns) throws SQLException {
+        final Object[] row = new Object[columns];
+        for (int i = 0; i < columns; i++) {
+            row[i] = resultSet.getObject(i + 1);
+        }
+        return row;
+    }
+
+    private Object value(final int columnIndex) {
+        if (position < 0 || position >= rows.length) {
+            throw new SQLiteGdxRuntimeException("Cursor is not positioned on a row");
+        }
+        return rows[position][columnIndex];
+    }
+
+    private Number number(final int columnIndex) {
+        final Object value = value(columnIndex);
+        if (value == null) return 0;
+        if (value instanceof Number) return (Number) value;
+        if (value instanceof Boolean) return (Boolean) value ? 1 : 0;
+        try {
+            return Double.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** @return a copy of the value, the stored array is shared with the other cursors of the entry */
+    @Override
+    public byte[] getBlob(final int columnIndex) {
+        final Object value = value(columnIndex);
+        if (value == null) return null;
+        if (value instanceof byte[]) return ((byte[]) value).clone();
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getBlob(final int columnIndex, final ByteBuffer target) {
+        final Object value = value(columnIndex);
+        if (!(value instanceof byte[])) return DatabaseCursor.super.getBlob(columnIndex, target);
+        target.put((byte[]) value);
+        return ((byte[]) value).length;
+    }
+
+    @Override
+    public double getDouble(final int columnIndex) {
+        return number(columnIndex).doubleValue();
+    }
+
+    @Override
+    public float getFloat(final int columnIndex) {
+        return number(columnIndex).floatValue();
+    }
+
+    @Override
+    public int getInt(final int columnIndex) {
+        return number(columnIndex).intValue();
+    }
+
+    @Override
+    public long getLong(final int columnIndex) {
+        return number(columnIndex).longValue();
+    }
+
+    @Override
+    public short getShort(final int columnIndex) {
+        return number(columnIndex).shortValue();
+    }
+
+    @Override
+    public String getString(final int columnIndex) {
+        final Object value = value(columnIndex);
+        if (value == null) return null;
+        if (value instanceof byte[]) return new String((byte[]) value, StandardCharsets.UTF_8);
+        return value.toString();
+    }
+
+    @Override
+    public boolean next() {
+        if (position < rows.length) position++;
+        return position < rows.length;
+    }
+
+    @Override
+    public int getCount() {
+        return rows.length;
+    }
+
+    @Override
+    public void close() {
+        position = rows.length;
+    }
+}
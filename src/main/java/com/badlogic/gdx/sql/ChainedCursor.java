@@ -0,0 +1,106 @@
+/**<p>*********************************************************************************************************************
+ * <h1>ChainedCursor</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           DatabaseCursor over the results of the chunks of one query, one after the other
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Cursor over several cursors read one after the other, as returned by {@link Handler#getCursor} for a query split
+ * in chunks of its IN list. Closing it closes every cursor.
+ */
+public final class ChainedCursor implements DatabaseCursor {
+    private final DatabaseCursor[] cursors;
+    private int current;
+
+    /**
+     * @param cursors the cursors to read in order, at least one
+     */
+    public ChainedCursor(final List<DatabaseCursor> cursors) {
+        if (cursors.isEmpty()) throw new IllegalArgumentException("ChainedCursor needs at least one cursor");
+        this.cursors = cursors.toArray(new DatabaseCursor[0]);
+    }
+
+    @Override
+    public boolean next() {
+        while (current < cursors.length) {
+            if (cursors[current].next()) return true;
+            if (current == cursors.length - 1) return false;
+            current++;
+        }
+        return false;
+    }
+
+    @Override
+    public byte[] getBlob(final int columnIndex) {
+        return cursors[current].getBlob(columnIndex);
+    }
+
+    @Override
+    public int getBlob(final int columnIndex, final ByteBuffer target) {
+        return cursors[current].getBlob(columnIndex, target);
+    }
+
+    @Override
+    public InputStream getBlobStream(final int columnIndex) {
+        return cursors[current].getBlobStream(columnIndex);
+    }
+
+    @Override
+    public double getDouble(final int columnIndex) {
+        return cursors[current].getDouble(columnIndex);
+    }
+
+    @Override
+    public float getFloat(final int columnIndex) {
+        return cursors[current].getFloat(columnIndex);
+    }
+
+    @Override
+    public int getInt(final int columnIndex) {
+        return cursors[current].getInt(columnIndex);
+    }
+
+    @Override
+    public long getLong(final int columnIndex) {
+        return cursors[current].getLong(columnIndex);
+    }
+
+    @Override
+    public short getShort(final int columnIndex) {
+        return cursors[current].getShort(columnIndex);
+    }
+
+    @Override
+    public String getString(final int columnIndex) {
+        return cursors[current].getString(columnIndex);
+    }
+
+    @Override
+    public int getCount() {
+        int count = 0;
+        for (final DatabaseCursor cursor : cursors) {
+            count += cursor.getCount();
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        for (final DatabaseCursor cursor : cursors) {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/**<p>*********************************************************************************************************************
+ * <h1>ColumnBuffers</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Columnar batch read of a DatabaseCursor into primitive buffers
+ *           Batch read straight from a JDBC ResultSet, for ResultSetCursor
+ *           growable buffers grow as rows arrive, nothing reserved for maxRows
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Implementation of {@link DatabaseCursor#fetch(int, Object...)}. The kind of each buffer is resolved once per call,
+ * the row loop then only switches on it, without boxing. The generic loop reads every cell through the getters of
+ * the cursor, the ResultSet loop reads the cells straight from the result of a JDBC backend.
+ */
+final class ColumnBuffers {
+    private static final int SKIP = 0;
+    private static final int INTS = 1;
+    private static final int LONGS = 2;
+    private static final int FLOATS = 3;
+    private static final int DOUBLES = 4;
+    private static final int INT_ARRAY = 5;
+    private static final int LONG_ARRAY = 6;
+    private static final int FLOAT_ARRAY = 7;
+
+    private ColumnBuffers() {}
+
+    static int fetch(final DatabaseCursor cursor, final int maxRows, final Object[] buffers) {
+        final int[] kinds = new int[buffers.length];
+        final int rows = resolve(maxRows, buffers, kinds);
+        int row = 0;
+        while (row < rows && cursor.next()) {
+            for (int c = 0; c < kinds.length; c++) {
+                switch (kinds[c]) {
+                    case INTS:
+                        ((int[]) buffers[c])[row] = cursor.getInt(c);
+                        break;
+                    case LONGS:
+                        ((long[]) buffers[c])[row] = cursor.getLong(c);
+                        break;
+                    case FLOATS:
+                        ((float[]) buffers[c])[row] = cursor.getFloat(c);
+                        break;
+                    case DOUBLES:
+                        ((double[]) buffers[c])[row] = cursor.getDouble(c);
+                        break;
+                    case INT_ARRAY:
+                        ((IntArray) buffers[c]).add(cursor.getInt(c));
+                        break;
+                    case LONG_ARRAY:
+                        ((LongArray) buffers[c]).add(cursor.getLong(c));
+                        break;
+                    case FLOAT_ARRAY:
+                        ((FloatArray) buffers[c]).add(cursor.getFloat(c));
+                        break;
+                    default:
+                        break;
+                }
+            }
+            row++;
+        }
+        return row;
+    }
+
+    static int fetch(final ResultSet rs, final int maxRows, final Object[] buffers) throws SQLException {
+        final int[] kinds = new int[buffers.length];
+        final int rows = resolve(maxRows, buffers, kinds);
+        int row = 0;
+        while (row < rows && rs.next()) {
+            for (int c = 0; c < kinds.length; c++) {
+                switch (kinds[c]) {
+                    case INTS:
+                        ((int[]) buffers[c])[row] = rs.getInt(c + 1);
+                        break;
+                    case LONGS:
+                        ((long[]) buffers[c])[row] = rs.getLong(c + 1);
+                        break;
+                    case FLOATS:
+                        ((float[]) buffers[c])[row] = rs.getFloat(c + 1);
+                        break;
+                    case DOUBLES:
+                        ((double[]) buffers[c])[row] = rs.getDouble(c + 1);
+                        break;
+                    case INT_ARRAY:
+                        ((IntArray) buffers[c]).add(rs.getInt(c + 1));
+                        break;
+                    case LONG_ARRAY:
+                        ((LongArray) buffers[c]).add(rs.getLong(c + 1));
+                        break;
+                    case FLOAT_ARRAY:
+                        ((FloatArray) buffers[c]).add(rs.getFloat(c + 1));
+                        break;
+                    default:
+                        break;
+                }
+            }
+            row++;
+        }
+        return row;
+    }
+
+    /**
+     * Resolves the kind of each buffer. The growable ones are not sized for maxRows, which may be Integer.MAX_VALUE
+     * to read everything: they grow as rows are added.
+     *
+     * @return the number of rows to read, maxRows or the length of the shortest array
+     */
+    private static int resolve(final int maxRows, final Object[] buffers, final int[] kinds) {
+        int rows = maxRows;
+        for (int c = 0; c < buffers.length; c++) {
+            final Object buffer = buffers[c];
+            if (buffer == null) {
+                kinds[c] = SKIP;
+            } else if (buffer instanceof int[]) {
+                kinds[c] = INTS;
+                rows = Math.min(rows, ((int[]) buffer).length);
+            } else if (buffer instanceof long[]) {
+                kinds[c] = LONGS;
+                rows = Math.min(rows, ((long[]) buffer).length);
+            } else if (buffer instanceof float[]) {
+                kinds[c] = FLOATS;
+                rows = Math.min(rows, ((float[]) buffer).length);
+            } else if (buffer instanceof double[]) {
+                kinds[c] = DOUBLES;
+                rows = Math.min(rows, ((double[]) buffer).length);
+            } else if (buffer instanceof IntArray) {
+                kinds[c] = INT_ARRAY;
+            } else if (buffer instanceof LongArray) {
+                kinds[c] = LONG_ARRAY;
+            } else if (buffer instanceof FloatArray) {
+                kinds[c] = FLOAT_ARRAY;
+            } else {
+                throw new IllegalArgumentException("Unsupported column buffer " + buffer.getClass().getName()
+                    + " for column " + c);
+            }
+        }
+        return rows;
+    }
+}
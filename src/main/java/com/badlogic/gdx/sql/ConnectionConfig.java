@@ -0,0 +1,169 @@
+/**<p>*********************************************************************************************************************
+ * <h1>ConnectionConfig</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           PRAGMA settings applied by the Handler to its connections, with predefined profiles
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * PRAGMA settings of the connections of a {@link Handler}, set with {@link Handler#setConnectionConfig(ConnectionConfig)}
+ * before {@link Handler#startConnection()}. A setting left unset keeps the SQLite default. The handler reads every
+ * set pragma back once applied, see {@link Handler#effectivePragmas()}, since SQLite silently ignores some of them
+ * (WAL on an in-memory database, page_size once the journal is WAL, mmap_size above the compiled limit).
+ * <pre>
+ * handler.setConnectionConfig(ConnectionConfig.gameSave());
+ * handler.startConnection();
+ * Gdx.app.log("db", handler.effectivePragmas().toString());
+ * </pre>
+ * journal_mode, page_size and locking_mode are set on the main connection only, the other settings on the reader
+ * connections of pool mode as well. Pool mode always switches the journal to WAL.
+ */
+public class ConnectionConfig {
+
+    public enum JournalMode { DELETE, TRUNCATE, PERSIST, MEMORY, WAL, OFF }
+
+    public enum Synchronous { OFF, NORMAL, FULL, EXTRA }
+
+    public enum TempStore { DEFAULT, FILE, MEMORY }
+
+    public enum LockingMode { NORMAL, EXCLUSIVE }
+
+    private JournalMode journalMode;
+    private Synchronous synchronous;
+    private Integer cacheSize;
+    private Long mmapSize;
+    private Integer pageSize;
+    private TempStore tempStore;
+    private Integer busyTimeout;
+    private LockingMode lockingMode;
+
+    /**
+     * Durable: every commit is on disk before it returns, even through a power loss. For progress that must never
+     * be lost (purchases, account data). WAL keeps readers unblocked by the writer.
+     */
+    public static ConnectionConfig durable() {
+        return new ConnectionConfig()
+            .journalMode(JournalMode.WAL)
+            .synchronous(Synchronous.FULL)
+            .busyTimeout(5000);
+    }
+
+    /**
+     * Game save: WAL with synchronous NORMAL, a commit survives a crash of the game and only the last commits can be
+     * lost on a power loss, for a much cheaper commit. An 8 MB page cache and temporary tables in memory.
+     */
+    public static ConnectionConfig gameSave() {
+        return new ConnectionConfig()
+            .journalMode(JournalMode.WAL)
+            .synchronous(Synchronous.NORMAL)
+            .cacheSize(-8 * 1024)
+            .tempStore(TempStore.MEMORY)
+            .busyTimeout(2000);
+    }
+
+    /**
+     * Read-mostly asset: a database shipped with the game and rarely written (definitions, localization). Reads go
+     * through a 256 MB memory map and a 16 MB page cache, rare writes are not synced.
+     */
+    public static ConnectionConfig readMostlyAsset() {
+        return new ConnectionConfig()
+            .journalMode(JournalMode.DELETE)
+            .synchronous(Synchronous.OFF)
+            .cacheSize(-16 * 1024)
+            .mmapSize(256L * 1024 * 1024)
+            .tempStore(TempStore.MEMORY)
+            .busyTimeout(1000);
+    }
+
+    public ConnectionConfig journalMode(JournalMode journalMode) {
+        this.journalMode = journalMode;
+        return this;
+    }
+
+    public ConnectionConfig synchronous(Synchronous synchronous) {
+        this.synchronous = synchronous;
+        return this;
+    }
+
+    /**
+     * @param cacheSize pages kept in the page cache, or KiB when negative as in SQLite
+     * @return the config this was invoked on
+     */
+    public ConnectionConfig cacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        return this;
+    }
+
+    /**
+     * @param mmapSize bytes of the database file read through a memory map, 0 to disable
+     * @return the config this was invoked on
+     */
+    public ConnectionConfig mmapSize(long mmapSize) {
+        this.mmapSize = mmapSize;
+        return this;
+    }
+
+    /**
+     * @param pageSize bytes per page, a power of two from 512 to 65536. Only applies to a database without tables
+     * yet, not in WAL mode
+     * @return the config this was invoked on
+     */
+    public ConnectionConfig pageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public ConnectionConfig tempStore(TempStore tempStore) {
+        this.tempStore = tempStore;
+        return this;
+    }
+
+    /**
+     * @param busyTimeout milliseconds a statement waits for a lock held by another connection before failing
+     * @return the config this was invoked on
+     */
+    public ConnectionConfig busyTimeout(int busyTimeout) {
+        this.busyTimeout = busyTimeout;
+        return this;
+    }
+
+    public ConnectionConfig lockingMode(LockingMode lockingMode) {
+        this.lockingMode = lockingMode;
+        return this;
+    }
+
+    /**
+     * @param main true for the main connection, false for a reader of pool mode
+     * @return the value of each set pragma as SQLite reports it back, in the order they are applied. page_size comes
+     * first, it has to be set before the journal becomes WAL
+     */
+    Map<String, String> expected(boolean main) {
+        final Map<String, String> pragmas = new LinkedHashMap<>();
+        if (main && pageSize != null) pragmas.put("page_size", pageSize.toString());
+        if (main && journalMode != null) pragmas.put("journal_mode", journalMode.name().toLowerCase(Locale.ROOT));
+        if (main && lockingMode != null) pragmas.put("locking_mode", lockingMode.name().toLowerCase(Locale.ROOT));
+        if (synchronous != null) pragmas.put("synchronous", Integer.toString(synchronous.ordinal()));
+        if (cacheSize != null) pragmas.put("cache_size", cacheSize.toString());
+        if (mmapSize != null) pragmas.put("mmap_size", mmapSize.toString());
+        if (tempStore != null) pragmas.put("temp_store", Integer.toString(tempStore.ordinal()));
+        if (busyTimeout != null) pragmas.put("busy_timeout", busyTimeout.toString());
+        return pragmas;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionConfig" + expected(true);
+    }
+}
@@ -0,0 +1,127 @@
+/**<p>*********************************************************************************************************************
+ * <h1>ConnectionPool</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           One writer and N read-only connections on a database in WAL mode
+ *           Write lock serializing the mutations on the writer
+ *           readers made read-only with query_only whenever they are opened
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The connections of a {@link Handler} in pool mode: one writer that takes every mutation and N read-only readers
+ * for queries. With the database in WAL mode readers never wait for the writer, so queries of several threads run
+ * in parallel while a save is in progress.
+ * <p>
+ * Every thread is given a reader the first time it queries and keeps it, readers being handed out round robin. When
+ * there are more querying threads than readers some threads share a reader.
+ * <p>
+ * The writer is a single connection shared by every thread: a statement of one thread run while another thread has
+ * a transaction open on it would join that transaction. Mutations are serialized with the {@link #writeLock()}, the
+ * transaction lock of the handler, held around every write and transaction it runs.
+ */
+public class ConnectionPool {
+    private final Database writer;
+    private final Database[] readers;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<Database> assigned = new ThreadLocal<>();
+    private final ReentrantLock writeLock;
+
+    /**
+     * @param writer the connection used for mutations
+     * @param readers the read-only connections, at least one
+     */
+    public ConnectionPool(Database writer, Database[] readers) {
+        this(writer, readers, new ReentrantLock());
+    }
+
+    /**
+     * @param writer the connection used for mutations
+     * @param readers the read-only connections, at least one
+     * @param writeLock lock held around every use of the writer
+     */
+    public ConnectionPool(Database writer, Database[] readers, ReentrantLock writeLock) {
+        if (readers.length == 0) throw new IllegalArgumentException("ConnectionPool needs at least one reader");
+        this.writer = writer;
+        this.readers = readers.clone();
+        this.writeLock = writeLock;
+    }
+
+    /**
+     * @return the connection used for mutations, only to be used while holding {@link #writeLock()}
+     */
+    public Database writer() {
+        return writer;
+    }
+
+    /**
+     * @return the lock serializing the mutations on the writer, reentrant
+     */
+    public ReentrantLock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * @return the reader of the calling thread
+     */
+    public Database reader() {
+        Database reader = assigned.get();
+        if (reader == null) {
+            reader = readers[(next.getAndIncrement() & Integer.MAX_VALUE) % readers.length];
+            assigned.set(reader);
+        }
+        return reader;
+    }
+
+    /**
+     * @return the readers, a copy
+     */
+    public Database[] readers() {
+        return readers.clone();
+    }
+
+    public int readerCount() {
+        return readers.length;
+    }
+
+    /** Opens the readers again after they were closed, read-only as when the pool was started. */
+    public void open() throws SQLiteGdxException {
+        for (Database reader : readers) {
+            reader.openOrCreateDatabase();
+            readOnly(reader);
+        }
+    }
+
+    /**
+     * Sets PRAGMA query_only on an open reader, SQLite forgets it when the connection closes.
+     *
+     * @param reader reader connection, open
+     */
+    static void readOnly(Database reader) throws SQLiteGdxException {
+        try {
+            Handler.pragma(reader, "PRAGMA query_only=1;");
+        } catch (SQLException e) {
+            throw new SQLiteGdxException(e);
+        }
+    }
+
+    /** Closes the readers, the writer is closed by its {@link Handler}. */
+    public void close() {
+        for (Database reader : readers) {
+            try {
+                reader.closeDatabase();
+            } catch (SQLiteGdxException ignored) {}
+        }
+    }
+}
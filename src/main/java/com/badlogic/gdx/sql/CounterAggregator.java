@@ -0,0 +1,278 @@
+/**<p>*********************************************************************************************************************
+ * <h1>CounterAggregator</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Counter deltas summed in memory, flushed as one batched upsert
+ *           scheduler thread only started for automatic flushes
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * E531: Counter flush failed, %d rows kept for the next flush
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.sql.builder.Column;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsertFactory;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Sums counter changes (kills, coins, play time) in memory and writes them every interval, so that a hot counter costs
+ * no I/O per event. Each flush is one {@link SqlBuilderUpsert} batch over every key changed since the last one:
+ * <pre>
+ * INSERT INTO stats (player, kills, coins) VALUES (?, ?, ?)
+ *     ON CONFLICT (player) DO UPDATE SET kills = coalesce(kills, 0) + excluded.kills, coins = ...;
+ * </pre>
+ * The key column must be the primary key or carry a unique index. A missing row is inserted with the deltas as its
+ * counters, its other columns taking their default. Deltas not flushed yet are lost if the process dies, call
+ * {@link #flush()} on pause and dispose.
+ */
+public class CounterAggregator implements Closeable {
+    private static final String TAG = CounterAggregator.class.getCanonicalName();
+    private static final String E531 = "Counter flush failed, %d rows kept for the next flush";
+
+    private final Handler handler;
+    private final String table;
+    private final Column keyColumn;
+    private final Supplier<SqlBuilderUpsert> builders;
+    /** null when only flushed explicitly */
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /** Every counter column seen so far, the index of a column is its index in the delta arrays. */
+    private final List<Column> counters = new ArrayList<>();
+    private Map<Object, long[]> pending = new LinkedHashMap<>();
+    private long added;
+    private long flushes;
+    private long rowsWritten;
+
+    /**
+     * @param handler handler the counters are written through
+     * @param table table holding the counters
+     * @param keyColumn column identifying a row, its primary key or a unique column
+     * @param intervalMillis time between two automatic flushes, 0 or less to only flush explicitly
+     */
+    public CounterAggregator(Handler handler, String table, Column keyColumn, long intervalMillis) {
+        this(handler, table, keyColumn, intervalMillis, CounterAggregator::newBuilder);
+    }
+
+    /**
+     * @param handler handler the counters are written through
+     * @param table table holding the counters
+     * @param keyColumn column identifying a row, its primary key or a unique column
+     * @param intervalMillis time between two automatic flushes, 0 or less to only flush explicitly
+     * @param builders creates the upsert builder of each flush
+     */
+    public CounterAggregator(Handler handler, String table, Column keyColumn, long intervalMillis,
+                             Supplier<SqlBuilderUpsert> builders) {
+        this.handler = handler;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.builders = builders;
+        if (intervalMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "gdx-sqlite-counters");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    private static SqlBuilderUpsert newBuilder() {
+        try {
+            return new SqlBuilderUpsertFactory().builderUpsert();
+        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException | InstantiationException
+                 | IllegalAccessException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Adds delta to the counter of the row identified by key.
+     *
+     * @param key value of the key column
+     * @param counter numeric column of the counter
+     * @param delta change of the counter, negative to decrement
+     */
+    public synchronized void add(Object key, Column counter, long delta) {
+        if (key == null) {
+            throw new IllegalArgumentException("A counter needs a key");
+        }
+        final int index = index(counter);
+        long[] deltas = pending.get(key);
+        if (deltas == null) {
+            deltas = new long[counters.size()];
+            pending.put(key, deltas);
+        } else if (deltas.length <= index) {
+            deltas = Arrays.copyOf(deltas, counters.size());
+            pending.put(key, deltas);
+        }
+        deltas[index] += delta;
+        added++;
+    }
+
+    /** Adds 1 to the counter of the row identified by key. */
+    public void increment(Object key, Column counter) {
+        add(key, counter, 1);
+    }
+
+    private int index(Column counter) {
+        for (int i = 0; i < counters.size(); i++) {
+            if (counters.get(i).getName().equalsIgnoreCase(counter.getName())) return i;
+        }
+        counters.add(counter);
+        return counters.size() - 1;
+    }
+
+    /**
+     * @param key value of the key column
+     * @param counter numeric column of the counter
+     * @return the change not written yet, 0 if none
+     */
+    public synchronized long pending(Object key, Column counter) {
+        final long[] deltas = pending.get(key);
+        if (deltas == null) return 0;
+        for (int i = 0; i < deltas.length; i++) {
+            if (counters.get(i).getName().equalsIgnoreCase(counter.getName())) return deltas[i];
+        }
+        return 0;
+    }
+
+    /** @return number of rows with changes not written yet */
+    public synchronized int pending() {
+        return pending.size();
+    }
+
+    /**
+     * Writes the changes of every row in one batched upsert. When writing fails the changes are added back to the
+     * ones made in the meantime, and the exception is thrown.
+     * @return number of rows written
+     */
+    public int flush() throws SQLiteGdxException, SQLException {
+        flushLock.lock();
+        try {
+            final Map<Object, long[]> batch;
+            final Column[] columns;
+            synchronized (this) {
+                if (pending.isEmpty()) return 0;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                columns = counters.toArray(new Column[0]);
+            }
+            final Column[] all = new Column[columns.length + 1];
+            all[0] = keyColumn;
+            System.arraycopy(columns, 0, all, 1, columns.length);
+            final SqlBuilderUpsert builder = builders.get()
+                .table(table)
+                .columns(all)
+                .onConflict(keyColumn)
+                .accumulate(columns);
+            for (Map.Entry<Object, long[]> entry : batch.entrySet()) {
+                final Object[] row = new Object[all.length];
+                row[0] = entry.getKey();
+                final long[] deltas = entry.getValue();
+                for (int i = 0; i < columns.length; i++) {
+                    row[i + 1] = i < deltas.length ? deltas[i] : 0L;
+                }
+                builder.row(row);
+            }
+            try {
+                handler.upsertAll(builder);
+            } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+                synchronized (this) {
+                    for (Map.Entry<Object, long[]> entry : pending.entrySet()) {
+                        merge(batch, entry.getKey(), entry.getValue());
+                    }
+                    pending = batch;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                flushes++;
+                rowsWritten += batch.size();
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static void merge(Map<Object, long[]> into, Object key, long[] deltas) {
+        long[] sum = into.get(key);
+        if (sum == null) {
+            into.put(key, deltas);
+            return;
+        }
+        if (sum.length < deltas.length) {
+            sum = Arrays.copyOf(sum, deltas.length);
+            into.put(key, sum);
+        }
+        for (int i = 0; i < deltas.length; i++) {
+            sum[i] += deltas[i];
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+            Gdx.app.error(TAG, String.format(E531, pending()) + " : " + e);
+        }
+    }
+
+    /** @return number of changes added so far */
+    public synchronized long addedCount() {
+        return added;
+    }
+
+    /** @return number of flushes that wrote at least one row */
+    public synchronized long flushCount() {
+        return flushes;
+    }
+
+    /** @return number of rows written so far, a row changed between two flushes is written once */
+    public synchronized long writtenCount() {
+        return rowsWritten;
+    }
+
+    /** Drops every change not written yet. */
+    public synchronized void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Stops the automatic flushes and writes what is still pending, failures are logged.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushQuietly();
+    }
+}
@@ -10,17 +10,29 @@
  *           Added insert method
  *           Added update method
  *           Added delete method
+ * 20261017  Added getCursor method for a compiled PreparedQuery
+ *           Added getConnection method
+ *           Added insertAll method
+ *           Added upsert and upsertAll methods
+ *           getCursor for a PreparedQuery is a default method, running on getConnection
+ *           getConnection is a default method returning null
+ *           insertAll is a default method, one insert per row in a savepoint
+ *           upsert and upsertAll are default methods
+ *           insertAll and upsertAll documented as savepoints, not transactions of their own
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  *
  **********************************************************************************************************************</p>*/
 package com.badlogic.gdx.sql;
 
+import com.badlogic.gdx.sql.builder.PreparedQuery;
 import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
 import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
 import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
 import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
@@ -65,9 +77,93 @@ public interface Database {
      * @throws SQLiteGdxException */
     @Deprecated
     public DatabaseCursor rawQuery (DatabaseCursor cursor, String sql) throws SQLiteGdxException;
+    /** Returns the JDBC connection of the opened database. Used by {@link Handler} for its {@link StatementCache}.
+     * The default returns null, for backends written before this method.
+     * @return the connection, or null when the platform does not use JDBC (Android) or the database is not open */
+    public default Connection getConnection () {
+        return null;
+    }
+
     public DatabaseCursor getCursor(SqlBuilderSelect builder) throws SQLiteGdxException, SQLException;
     public DatabaseCursor getCursor(DatabaseCursor cursor, SqlBuilderSelect builder) throws SQLiteGdxException, SQLException;
+
+    /** Runs a query compiled with {@link SqlBuilderSelect#compile()}.
+     * @param query the compiled query
+     * @param values one value per bind slot of the query, or none to use the values it was compiled with
+     * @return {@link DatabaseCursor}
+     * The default runs it on {@link #getConnection()}, backends without a JDBC connection override it.
+     * @throws SQLiteGdxException */
+    public default DatabaseCursor getCursor(PreparedQuery query, Object... values) throws SQLiteGdxException, SQLException {
+        Connection connection = getConnection();
+        if (connection == null) {
+            throw new SQLiteGdxException("Compiled queries need a JDBC connection or an override of getCursor(PreparedQuery, Object...) in " + getClass().getName());
+        }
+        return query.getCursor(connection, values);
+    }
     public OptionalLong insert(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException;
+
+    /** Inserts every row added to the builder, see {@link SqlBuilderInsert#row(Object...)}.
+     * @param builder insert builder holding the rows
+     * @return the row id of each inserted row, in the order of the rows
+     * The default inserts the rows one at a time through {@link #insert(SqlBuilderInsert)} inside SAVEPOINT insert_all.
+     * When a row fails it rolls back to the savepoint, undoing the rows of this call only, and rethrows. Outside a
+     * transaction the savepoint commits on its own; inside one, the rows are kept or lost with that transaction.
+     * @throws SQLiteGdxException */
+    @SuppressWarnings("deprecation")
+    public default long[] insertAll(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException {
+        execSQL("SAVEPOINT insert_all;");
+        try {
+            long[] ids = builder.insertEach(this::insert);
+            execSQL("RELEASE insert_all;");
+            return ids;
+        } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+            try {
+                execSQL("ROLLBACK TO insert_all;");
+                execSQL("RELEASE insert_all;");
+            } catch (SQLiteGdxException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
+    /** Inserts the row of the builder or updates the row it conflicts with, see {@link SqlBuilderUpsert}.
+     * @param builder upsert builder
+     * @return the number of rows inserted or updated
+     * The default runs it on {@link #getConnection()}, backends without a JDBC connection override it.
+     * @throws SQLiteGdxException */
+    public default OptionalInt upsert(SqlBuilderUpsert builder) throws SQLiteGdxException, SQLException {
+        Connection connection = getConnection();
+        if (connection == null) {
+            throw new SQLiteGdxException("Upserts need a JDBC connection or an override of upsert(SqlBuilderUpsert) in " + getClass().getName());
+        }
+        return builder.upsert(connection);
+    }
+
+    /** Saves every row added to the builder, see {@link SqlBuilderUpsert#row(Object...)}.
+     * @param builder upsert builder holding the rows
+     * @return the number of rows inserted or updated
+     * The default saves the rows one at a time through {@link #upsert(SqlBuilderUpsert)} inside SAVEPOINT upsert_all,
+     * rolled back to when a row fails like {@link #insertAll(SqlBuilderInsert)}. Outside a transaction the savepoint
+     * commits on its own; inside one, the rows are kept or lost with that transaction.
+     * @throws SQLiteGdxException */
+    @SuppressWarnings("deprecation")
+    public default int upsertAll(SqlBuilderUpsert builder) throws SQLiteGdxException, SQLException {
+        execSQL("SAVEPOINT upsert_all;");
+        try {
+            int changed = builder.upsertEach(this::upsert);
+            execSQL("RELEASE upsert_all;");
+            return changed;
+        } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+            try {
+                execSQL("ROLLBACK TO upsert_all;");
+                execSQL("RELEASE upsert_all;");
+            } catch (SQLiteGdxException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
     public OptionalInt delete(SqlBuilderDelete builder) throws SQLiteGdxException, SQLException;
     public OptionalInt update(SqlBuilderUpdate builder) throws SQLiteGdxException, SQLException;
 }
@@ -1,5 +1,9 @@
 package com.badlogic.gdx.sql;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 /** This public interface contains all the methods to expose results from a query on a SQLiteDatabase. This is not thread-safe.
  * @author M Rafay Aleem */
 public interface DatabaseCursor {
@@ -9,6 +13,33 @@ public interface DatabaseCursor {
 	 * @return the value of that column as a byte array. */
 	public byte[] getBlob (int columnIndex);
 
+	/** Writes the value of the requested column, a BLOB, into target starting at its position, which is advanced by the
+	 * number of bytes written. target can be a direct buffer. The default implementation copies from {@link #getBlob(int)}, a
+	 * full byte[] of the value, so nothing is saved: backends must override it to read the BLOB without the intermediate
+	 * array. {@link ResultSetCursor} reads the binary stream of the driver, on sqlite-jdbc a stream over a full copy of the
+	 * value as well.
+	 * @param columnIndex the zero-based index of the target column.
+	 * @param target the buffer to write the value into.
+	 * @return the number of bytes written, -1 if the value is NULL.
+	 * @throws java.nio.BufferOverflowException if target has not enough room left for the value. */
+	public default int getBlob (int columnIndex, ByteBuffer target) {
+		byte[] blob = getBlob(columnIndex);
+		if (blob == null) return -1;
+		target.put(blob);
+		return blob.length;
+	}
+
+	/** Returns the value of the requested column, a BLOB, as a stream. The default implementation streams over
+	 * {@link #getBlob(int)}, a full byte[] of the value, so nothing is streamed: backends must override it to read the BLOB
+	 * incrementally. {@link ResultSetCursor} returns the binary stream of the driver, on sqlite-jdbc a stream over a full copy
+	 * of the value.
+	 * @param columnIndex the zero-based index of the target column.
+	 * @return the value of that column as a stream, null if the value is NULL. */
+	public default InputStream getBlobStream (int columnIndex) {
+		byte[] blob = getBlob(columnIndex);
+		return blob == null ? null : new ByteArrayInputStream(blob);
+	}
+
 	/** Returns the value of the requested column as a double.
 	 * @param columnIndex the zero-based index of the target column.
 	 * @return the value of that column as a double. */
@@ -43,6 +74,21 @@ public interface DatabaseCursor {
 	 * @return whether the move was successful. */
 	public boolean next ();
 
+	/** Moves the cursor over up to maxRows rows and writes their columns into the given buffers, the buffer at position i
+	 * receiving column i. Arrays (int[], long[], float[], double[]) are filled from index 0 and limit the number of rows read
+	 * to their length, {@link com.badlogic.gdx.utils.IntArray}, {@link com.badlogic.gdx.utils.LongArray} and
+	 * {@link com.badlogic.gdx.utils.FloatArray} are appended to. A null buffer skips its column.
+	 * <p>
+	 * This is the hook backends override to read a batch without per-cell calls through this interface. The default only
+	 * resolves the buffers once per call and then still goes through {@link #next()} and a getter for every cell, so it saves
+	 * the boxing and the caller's loop, not the calls. {@link ResultSetCursor} overrides it to read its ResultSet directly.
+	 * @param maxRows maximum number of rows to read.
+	 * @param buffers one buffer per column, in column order.
+	 * @return the number of rows read, 0 once the cursor is exhausted. */
+	public default int fetch (int maxRows, Object... buffers) {
+		return ColumnBuffers.fetch(this, maxRows, buffers);
+	}
+
 	/** Returns the numbers of rows in the cursor.
 	 * @return number of rows
 	 * @throws SQLiteGdxException */
@@ -0,0 +1,60 @@
+/**<p>*********************************************************************************************************************
+ * <h1>DatabaseListener</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Statement and transaction events of a Handler, for metrics
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+/**
+ * Receives the statements and transactions run through a {@link Handler}, registered with
+ * {@link Handler#setListener(DatabaseListener)}. Called on the thread that ran the statement, right after it, so an
+ * implementation must be thread-safe and fast. {@link DatabaseMetrics} keeps latency histograms per statement.
+ * <p>
+ * sql is the statement with a ? for each parameter, never the bound values. Statements that fail are not reported.
+ */
+public interface DatabaseListener {
+
+    /**
+     * A query was run, its rows are reported by {@link #onRowsReturned(String, long)} once its cursor is closed.
+     *
+     * @param sql the SELECT statement
+     * @param parameters number of bound parameters
+     * @param nanos time to run the query and return its cursor
+     */
+    default void onQuery(String sql, int parameters, long nanos) {}
+
+    /**
+     * The cursor of a query was closed.
+     *
+     * @param sql the SELECT statement
+     * @param rows number of rows read through the cursor
+     */
+    default void onRowsReturned(String sql, long rows) {}
+
+    /**
+     * An insert, upsert, update or delete was run.
+     *
+     * @param sql the statement
+     * @param parameters number of bound parameters, of every row for a batch
+     * @param nanos time to run the statement, of every row for a batch
+     * @param rows number of rows inserted, updated or deleted
+     */
+    default void onUpdate(String sql, int parameters, long nanos, long rows) {}
+
+    /**
+     * An outermost transaction of {@link Handler#inTransaction(TransactionMode, Transaction)} ended.
+     *
+     * @param mode how the transaction took its locks
+     * @param nanos time from BEGIN to the end of COMMIT or ROLLBACK
+     * @param committed false if it was rolled back
+     */
+    default void onTransaction(TransactionMode mode, long nanos, boolean committed) {}
+}
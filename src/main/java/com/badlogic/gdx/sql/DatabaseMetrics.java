@@ -0,0 +1,318 @@
+/**<p>*********************************************************************************************************************
+ * <h1>DatabaseMetrics</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Latency histograms per statement shape, transaction durations and a slow-query log
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * W535: Slow statement, %.1f ms with %d parameters: %s
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.Gdx;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DatabaseListener} keeping, per statement shape, a latency histogram (p50, p99), the rows returned and
+ * affected, plus the durations of the transactions and the hit rate of the statement cache:
+ * <pre>
+ * DatabaseMetrics metrics = new DatabaseMetrics(handler).slowQueryThreshold(50);
+ * handler.setListener(metrics);
+ * ...
+ * Gdx.app.log("db", metrics.toString());
+ * </pre>
+ * The shape of a statement is its SQL with the parameter lists of IN collapsed, so the chunks of a long IN list and
+ * lists of different lengths count as one statement. Latencies are kept in log-linear buckets, a percentile is
+ * within 1/8 of the true value. A statement slower than the slow query threshold is logged through Gdx.app with its
+ * SQL and its number of parameters.
+ */
+public class DatabaseMetrics implements DatabaseListener {
+    private static final String TAG = DatabaseMetrics.class.getCanonicalName();
+    private static final String W535 = "Slow statement, %.1f ms with %d parameters: %s";
+
+    private static final Pattern IN_LIST = Pattern.compile("IN \\(\\?(\\s*,\\s*\\?)*\\)");
+
+    /**
+     * Latency histogram with 8 buckets per power of two of nanoseconds.
+     */
+    static final class Histogram {
+        private static final int SUB_BUCKETS = 8;
+        private final long[] buckets = new long[SUB_BUCKETS * 61];
+        private long count;
+        private long total;
+        private long max;
+
+        void record(final long nanos) {
+            final long value = Math.max(0, nanos);
+            buckets[index(value)]++;
+            count++;
+            total += value;
+            if (value > max) max = value;
+        }
+
+        static int index(final long value) {
+            if (value < SUB_BUCKETS) return (int) value;
+            final int exponent = 63 - Long.numberOfLeadingZeros(value);
+            return (exponent - 2) * SUB_BUCKETS + (int) ((value >>> (exponent - 3)) & (SUB_BUCKETS - 1));
+        }
+
+        /** @return the middle of the values counted in bucket index */
+        static long value(final int index) {
+            if (index < SUB_BUCKETS) return index;
+            final int shift = index / SUB_BUCKETS - 1;
+            final long low = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+            return low + (1L << shift) / 2;
+        }
+
+        long percentile(final double p) {
+            if (count == 0) return 0;
+            final long rank = Math.max(1, (long) Math.ceil(p * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) return Math.min(value(i), max);
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Measurements of one statement shape, a copy taken by {@link #statements()}.
+     */
+    public static final class StatementStats {
+        private final String sql;
+        private final long count;
+        private final long totalNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+        private final long rowsReturned;
+        private final long rowsAffected;
+
+        StatementStats(final String sql, final Histogram histogram, final long rowsReturned, final long rowsAffected) {
+            this.sql = sql;
+            this.count = histogram.count;
+            this.totalNanos = histogram.total;
+            this.p50Nanos = histogram.percentile(0.50);
+            this.p99Nanos = histogram.percentile(0.99);
+            this.maxNanos = histogram.max;
+            this.rowsReturned = rowsReturned;
+            this.rowsAffected = rowsAffected;
+        }
+
+        /** @return the shape of the statement */
+        public String sql() {
+            return sql;
+        }
+
+        /** @return number of times it ran */
+        public long count() {
+            return count;
+        }
+
+        public long totalNanos() {
+            return totalNanos;
+        }
+
+        public long meanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        public long p50Nanos() {
+            return p50Nanos;
+        }
+
+        public long p99Nanos() {
+            return p99Nanos;
+        }
+
+        public long maxNanos() {
+            return maxNanos;
+        }
+
+        /** @return rows read through the cursors of the query, 0 for a write */
+        public long rowsReturned() {
+            return rowsReturned;
+        }
+
+        /** @return rows inserted, updated or deleted, 0 for a query */
+        public long rowsAffected() {
+            return rowsAffected;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%6d x p50 %.3f ms, p99 %.3f ms, max %.3f ms, total %.1f ms, rows %d/%d : %s", count,
+                p50Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6, totalNanos / 1e6, rowsReturned, rowsAffected, sql);
+        }
+    }
+
+    private static final class Shape {
+        final Histogram latency = new Histogram();
+        long rowsReturned;
+        long rowsAffected;
+    }
+
+    private final Handler handler;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final Histogram transactions = new Histogram();
+    private long committed;
+    private long rolledBack;
+    private volatile long slowNanos;
+
+    /**
+     * @param handler handler whose statement cache is reported, null to leave it out
+     */
+    public DatabaseMetrics(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * @param millis statements that take at least this long are logged, 0 or less to log none
+     * @return the metrics this was invoked on
+     */
+    public DatabaseMetrics slowQueryThreshold(long millis) {
+        this.slowNanos = millis > 0 ? millis * 1_000_000L : 0;
+        return this;
+    }
+
+    static String shape(String sql) {
+        return !sql.contains("IN (") ? sql : IN_LIST.matcher(sql).replaceAll("IN (?, ...)");
+    }
+
+    private Shape get(String sql) {
+        return shapes.computeIfAbsent(shape(sql), k -> new Shape());
+    }
+
+    private void slow(String sql, int parameters, long nanos) {
+        final long threshold = slowNanos;
+        if (threshold > 0 && nanos >= threshold) {
+            Gdx.app.log(TAG, String.format(W535, nanos / 1e6, parameters, sql));
+        }
+    }
+
+    @Override
+    public void onQuery(String sql, int parameters, long nanos) {
+        final Shape shape = get(sql);
+        synchronized (shape) {
+            shape.latency.record(nanos);
+        }
+        slow(sql, parameters, nanos);
+    }
+
+    @Override
+    public void onRowsReturned(String sql, long rows) {
+        final Shape shape = get(sql);
+        synchronized (shape) {
+            shape.rowsReturned += rows;
+        }
+    }
+
+    @Override
+    public void onUpdate(String sql, int parameters, long nanos, long rows) {
+        final Shape shape = get(sql);
+        synchronized (shape) {
+            shape.latency.record(nanos);
+            shape.rowsAffected += rows;
+        }
+        slow(sql, parameters, nanos);
+    }
+
+    @Override
+    public synchronized void onTransaction(TransactionMode mode, long nanos, boolean committed) {
+        transactions.record(nanos);
+        if (committed) {
+            this.committed++;
+        } else {
+            rolledBack++;
+        }
+    }
+
+    /**
+     * @return the measurements of every statement shape, the slowest in total first
+     */
+    public List<StatementStats> statements() {
+        final List<StatementStats> stats = new ArrayList<>(shapes.size());
+        for (Map.Entry<String, Shape> entry : shapes.entrySet()) {
+            final Shape shape = entry.getValue();
+            synchronized (shape) {
+                stats.add(new StatementStats(entry.getKey(), shape.latency, shape.rowsReturned, shape.rowsAffected));
+            }
+        }
+        stats.sort(Comparator.comparingLong(StatementStats::totalNanos).reversed());
+        return stats;
+    }
+
+    public synchronized long transactionCount() {
+        return transactions.count;
+    }
+
+    public synchronized long committedCount() {
+        return committed;
+    }
+
+    public synchronized long rolledBackCount() {
+        return rolledBack;
+    }
+
+    public synchronized long transactionP50Nanos() {
+        return transactions.percentile(0.50);
+    }
+
+    public synchronized long transactionP99Nanos() {
+        return transactions.percentile(0.99);
+    }
+
+    public synchronized long transactionMaxNanos() {
+        return transactions.max;
+    }
+
+    /**
+     * @return hits divided by lookups of the statement cache of the handler, 0 without one
+     */
+    public double statementCacheHitRate() {
+        final StatementCache cache = handler != null ? handler.statementCache() : null;
+        return cache == null ? 0 : cache.hitRate();
+    }
+
+    /** Drops every measurement. */
+    public synchronized void reset() {
+        shapes.clear();
+        for (int i = 0; i < transactions.buckets.length; i++) {
+            transactions.buckets[i] = 0;
+        }
+        transactions.count = 0;
+        transactions.total = 0;
+        transactions.max = 0;
+        committed = 0;
+        rolledBack = 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DatabaseMetrics");
+        synchronized (this) {
+            sb.append(String.format("[transactions=%d (%d rolled back), p50 %.3f ms, p99 %.3f ms",
+                transactions.count, rolledBack, transactions.percentile(0.50) / 1e6, transactions.percentile(0.99) / 1e6));
+        }
+        final StatementCache cache = handler != null ? handler.statementCache() : null;
+        if (cache != null) {
+            sb.append(String.format(", statement cache hits=%d misses=%d", cache.hitCount(), cache.missCount()));
+        }
+        sb.append(']');
+        for (StatementStats stats : statements()) {
+            sb.append('\n').append(stats);
+        }
+        return sb.toString();
+    }
+}
@@ -16,6 +16,26 @@
  * 20230131  Added Method delegation getCursor, insert, update and delete
  * 20230305  ANDROID LOCATION: /data/data/com.galaxy.red.hat.JLSystem/databases/<name>
  * 20230507  TODO: ERROR CODES for Other Exceptions for identification
+ * 20261017  Added getCursor delegation for PreparedQuery
+ *           Statement cache per connection used by getCursor, insert, update and delete
+ *           Added insertAll delegation for batched inserts
+ *           Added inTransaction with nested savepoints and transaction modes
+ *           Pool mode: WAL, one writer and N read-only connections, getCursor routed to the readers
+ *           Added iterate and stream, lazily mapped rows with a fetch size
+ *           Optional QueryCache for getCursor, invalidated by insert, update and delete per table
+ *           Statements over the parameter limit run once per chunk of their IN list
+ *           Added upsert and upsertAll delegation
+ *           Optional DatabaseListener told of every statement and transaction, for metrics
+ *           Optional QueryPlanAnalyzer explaining each new select shape
+ *           Optional ConnectionConfig, PRAGMA settings applied to every connection and read back
+ *           In-memory mode, the database file loaded into memory and snapshotted back in the background
+ *           Writes of other threads wait for the transaction lock instead of joining an open transaction
+ *           Added insertBatch, batched inserts without the row ids
+ *           Update and delete statements read through Statements for the listener
+ *           In-memory mode on desktop only, the loaded file upgraded to dbVersion
+ *           getCursor keeps the cursor of the backend unless its builder wraps cached statement results
+ *           openConnection stops the snapshots of the previous connection before reopening
+ *           insertAll, insertBatch and upsertAll documented as savepoints
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  * E520: Handler Singleton already constructed.
@@ -24,20 +44,46 @@
  * E523: Unable to Start Connection
  * E524: Error executing raw query that returns database cursor
  * E525: Error executing exec sql
+ * E526: Transaction failed and was rolled back
+ * E527: Unable to Start Reader Connections
+ * E529: Streaming needs a JDBC connection, use getCursor on this platform
+ * W538: PRAGMA %s set to %s but is %s
+ * E539: Unable to apply PRAGMA %s=%s
+ * E542: In-memory mode needs a JDBC connection, not available on %s
  **********************************************************************************************************************</p>*/
 //@formatter:on
 package com.badlogic.gdx.sql;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.sql.builder.PreparedQuery;
+import com.badlogic.gdx.sql.builder.ResultMapper;
 import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
 import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
 import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
 import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
+import com.badlogic.gdx.sql.builder.Statements;
 
 import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 public class Handler {
     private static final String TAG = Handler.class.getCanonicalName();
@@ -51,6 +97,27 @@ public class Handler {
     private String dbOnCreateQuery;
     private String dbOnUpgradeQuery;
 
+    private int statementCacheSize = StatementCache.DEFAULT_CAPACITY;
+    private final Map<Database, StatementCache> statementCaches = new IdentityHashMap<>();
+
+    private int readConnections;
+    private ConnectionPool pool;
+
+    private final ReentrantLock transactionLock = new ReentrantLock();
+    private int transactionDepth;
+    private final Set<String> transactionTables = new HashSet<>();
+
+    private volatile QueryCache queryCache;
+    private volatile DatabaseListener listener;
+    private volatile QueryPlanAnalyzer analyzer;
+
+    private ConnectionConfig connectionConfig;
+    private volatile Map<String, String> effectivePragmas = Collections.emptyMap();
+
+    private boolean inMemory;
+    private long snapshotInterval;
+    private MemorySnapshot snapshot;
+
     /** ERRORS */
     public final String E520 = "Handler Singleton already constructed.";
     private final String E521 = "Cannot create folder: %s for database: %s, default location is used";
@@ -58,6 +125,12 @@ public class Handler {
     private final String E523 = "Unable to Start Connection";
     private final String E524 = "Error executing raw query that returns database cursor";
     private final String E525 = "Error executing exec sql";
+    private final String E526 = "Transaction failed and was rolled back";
+    private final String E527 = "Unable to Start Reader Connections";
+    private final String E529 = "Streaming needs a JDBC connection, use getCursor on this platform";
+    private final String W538 = "PRAGMA %s set to %s but is %s";
+    private final String E539 = "Unable to apply PRAGMA %s=%s";
+    private final String E542 = "In-memory mode needs a JDBC connection, not available on %s";
 
     /**
      * @param path             Windows path
@@ -111,22 +184,250 @@ public class Handler {
     }
 
     public void startConnection(){
+        if(inMemory && Gdx.app.getType() != Application.ApplicationType.Desktop){
+            Gdx.app.error(TAG, String.format(E542, Gdx.app.getType()));
+            return;
+        }
         try {
             String createdDBName = createDBName(path, dbName);
-            db = DatabaseFactory.getNewDatabase(createdDBName, dbVersion, dbOnCreateQuery,dbOnUpgradeQuery);
+            db = DatabaseFactory.getNewDatabase(inMemory ? ":memory:" : createdDBName, dbVersion, dbOnCreateQuery,dbOnUpgradeQuery);
             db.setupDatabase();
             db.openOrCreateDatabase();
         } catch (SQLiteGdxException e) {
             Gdx.app.error(TAG, E523+" : "+e);
+            return;
         }
+        if(inMemory && !startSnapshots()) return;
+        configure(db, true);
+        if(readConnections > 0 && !inMemory) startPool(createDBName(path, dbName));
+        effectivePragmas = verify(db, true);
     }
     public void openConnection(){
+        stopSnapshots();
         try {
             db.openOrCreateDatabase();
+            if(inMemory && !startSnapshots()) return;
+            configure(db, true);
+            if(pool != null){
+                pool.open();
+                for (Database reader : pool.readers()) {
+                    configure(reader, false);
+                }
+            }
+            effectivePragmas = verify(db, true);
         } catch (SQLiteGdxException e) {
             Gdx.app.error(TAG, E522+" : "+e);
         }
     }
+
+    /**
+     * Enables the in-memory mode, to be called before {@link #startConnection()}. The database runs in :memory: for
+     * the fastest queries: startConnection loads the database file into memory and the file is then rewritten with
+     * a snapshot of the memory every snapshotIntervalMillis, on {@link #checkpoint()} and on {@link #close()}. A
+     * snapshot holds the transaction lock only while the database is copied in memory, the file is written on the
+     * snapshot thread while queries go on, see {@link MemorySnapshot}. What changed after the last snapshot is lost
+     * if the game dies, checkpoint after what must not be lost (a level completed, a purchase).
+     * <p>
+     * startConnection loads the file with the JDBC backup API and upgrades it when its user_version is older than
+     * dbVersion: the upgrade query then the create query run, the create query only for a file without a version.
+     * Pool mode is not used in memory, readers cannot see a :memory: database. Desktop only: Android opens databases
+     * through SQLiteOpenHelper, which takes :memory: for the name of a file, startConnection fails there with E542.
+     * @param snapshotIntervalMillis time between two timed snapshots, 0 or less to only snapshot on checkpoint and
+     *                               close
+     */
+    public void setInMemory(long snapshotIntervalMillis){
+        this.inMemory = true;
+        this.snapshotInterval = snapshotIntervalMillis;
+    }
+
+    /**
+     * @return true when the database runs in memory, see {@link #setInMemory(long)}
+     */
+    public boolean isInMemory(){
+        return inMemory;
+    }
+
+    /**
+     * Writes a snapshot of the in-memory database to the database file, on the snapshot thread. Returns at once.
+     * Open cursors, iterators and streams do not hold the snapshot up, the memory is copied with the backup API
+     * which reads it alongside them. Writes wait for the copy in memory, see {@link MemorySnapshot}.
+     * @return a future completed once the file holds everything committed before this call, completed
+     * exceptionally if the snapshot failed or the handler is not in memory mode
+     */
+    public CompletableFuture<Void> checkpoint(){
+        MemorySnapshot snapshots = snapshot;
+        if(snapshots != null) return snapshots.checkpoint();
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("No in-memory database to snapshot"));
+        return failed;
+    }
+
+    /**
+     * Loads the database file into the in-memory database and starts the timed snapshots. If the file cannot be
+     * loaded the in-memory database is closed, a snapshot of it would overwrite the file.
+     * @return true if the database was loaded
+     */
+    private boolean startSnapshots(){
+        MemorySnapshot snapshots = new MemorySnapshot(db, snapshotFile(), dbVersion, dbOnCreateQuery, dbOnUpgradeQuery, transactionLock);
+        try {
+            snapshots.load();
+        } catch (SQLiteGdxException | SQLException e) {
+            Gdx.app.error(TAG, E523+" : "+e);
+            try {
+                db.closeDatabase();
+            } catch (SQLiteGdxException ignored) {}
+            return false;
+        }
+        snapshots.start(snapshotInterval);
+        snapshot = snapshots;
+        return true;
+    }
+
+    /** Stops the timed snapshots, after a last snapshot of the in-memory database. */
+    private void stopSnapshots(){
+        MemorySnapshot snapshots = snapshot;
+        snapshot = null;
+        if(snapshots != null) snapshots.close();
+    }
+
+    /** @return path of the database file of the in-memory mode */
+    private String snapshotFile(){
+        String createdDBName = createDBName(path, dbName);
+        if(!createdDBName.equals(dbName) || path == null || path.equals("")) return createdDBName;
+        return new File(path, dbName).getPath();
+    }
+
+    /**
+     * Sets the PRAGMA settings of the connections, to be called before {@link #startConnection()}. They are applied
+     * again by {@link #openConnection()}, SQLite forgetting most of them when a connection closes.
+     * @param config the settings, a profile such as {@link ConnectionConfig#gameSave()}, null for the SQLite defaults
+     */
+    public void setConnectionConfig(ConnectionConfig config){
+        this.connectionConfig = config;
+    }
+
+    /**
+     * @return the PRAGMA settings of the connections, null when none were set
+     */
+    public ConnectionConfig connectionConfig(){
+        return connectionConfig;
+    }
+
+    /**
+     * @return the value of every pragma of the {@link ConnectionConfig} as read back from the main connection once
+     * applied, in the format SQLite reports it (journal_mode "wal", synchronous 1 for NORMAL), empty without config.
+     * A value that differs from the requested one was also logged as W538
+     */
+    public Map<String, String> effectivePragmas(){
+        return effectivePragmas;
+    }
+
+    /** Applies the pragmas of the connection config to database, logging the ones that fail. */
+    private void configure(Database database, boolean main){
+        if(connectionConfig == null) return;
+        for (Map.Entry<String, String> entry : connectionConfig.expected(main).entrySet()) {
+            try {
+                pragma(database, "PRAGMA "+entry.getKey()+"="+entry.getValue()+";");
+            } catch (SQLiteGdxException | SQLException e) {
+                Gdx.app.error(TAG, String.format(E539, entry.getKey(), entry.getValue())+" : "+e);
+            }
+        }
+    }
+
+    /**
+     * Reads back the pragmas of the connection config from database.
+     * @return the value of each pragma, logging the ones that differ from the requested value
+     */
+    private Map<String, String> verify(Database database, boolean main){
+        if(connectionConfig == null) return Collections.emptyMap();
+        Map<String, String> effective = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : connectionConfig.expected(main).entrySet()) {
+            String value;
+            try {
+                value = pragma(database, "PRAGMA "+entry.getKey()+";");
+            } catch (SQLiteGdxException | SQLException e) {
+                Gdx.app.error(TAG, String.format(E539, entry.getKey(), entry.getValue())+" : "+e);
+                continue;
+            }
+            effective.put(entry.getKey(), value);
+            if(!entry.getValue().equalsIgnoreCase(value)){
+                Gdx.app.log(TAG, String.format(W538, entry.getKey(), entry.getValue(), value));
+            }
+        }
+        return Collections.unmodifiableMap(effective);
+    }
+
+    /**
+     * Enables pool mode, to be called before {@link #startConnection()}. The database is switched to WAL journal
+     * mode and, next to the connection used for every mutation, readers read-only connections are opened. getCursor
+     * calls run on the reader of the calling thread (or on the writer inside {@link #inTransaction(Transaction)} so
+     * that a transaction sees its own writes), so queries of several threads do not wait for each other or for a
+     * save in progress. Writes of every thread run one at a time on the writer, with the transaction lock, see
+     * {@link ConnectionPool#writeLock()}.
+     * @param readers number of read-only connections, 0 to use the single connection for everything
+     */
+    public void setReadConnections(int readers){
+        this.readConnections = readers;
+    }
+
+    /**
+     * @return the connections of pool mode, null when the handler uses a single connection
+     */
+    public ConnectionPool pool(){
+        return pool;
+    }
+
+    private void startPool(String createdDBName){
+        Database[] readers = new Database[readConnections];
+        try {
+            pragma(db, "PRAGMA journal_mode=WAL;");
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = DatabaseFactory.getNewDatabase(createdDBName, dbVersion, null, null);
+                readers[i].setupDatabase();
+                readers[i].openOrCreateDatabase();
+                ConnectionPool.readOnly(readers[i]);
+                configure(readers[i], false);
+                verify(readers[i], false);
+            }
+            pool = new ConnectionPool(db, readers, transactionLock);
+        } catch (SQLiteGdxException | SQLException e) {
+            for (Database reader : readers) {
+                if(reader == null) continue;
+                try {
+                    reader.closeDatabase();
+                } catch (SQLiteGdxException ignored) {}
+            }
+            Gdx.app.error(TAG, E527+" : "+e);
+        }
+    }
+
+    /** @return the connection queries of the calling thread run on */
+    private Database reader(){
+        return pool == null || isInTransaction() ? db : pool.reader();
+    }
+
+    /**
+     * Runs a PRAGMA statement on database.
+     * @return the first column of the first row it returns, null if there is none
+     */
+    @SuppressWarnings("deprecation")
+    static String pragma(Database database, String sql) throws SQLiteGdxException, SQLException{
+        Connection connection = database.getConnection();
+        if(connection != null){
+            try (Statement statement = connection.createStatement()) {
+                if(!statement.execute(sql)) return null;
+                try (ResultSet rs = statement.getResultSet()) {
+                    return rs.next() ? rs.getString(1) : null;
+                }
+            }
+        }
+        DatabaseCursor cursor = database.rawQuery(sql);
+        try {
+            return cursor.next() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
     private String createDBName(String path, String dbFileName){
         if(path==null || path.equals("")){return dbFileName;}
         switch (Gdx.app.getType()) {
@@ -179,30 +480,438 @@ public class Handler {
         return nextCursor;
     }
 
+    /**
+     * Sets the number of prepared statements kept open per connection, 0 disables the cache. Only used when the
+     * database runs on JDBC, see {@link Database#getConnection()}. getCursor of a SqlBuilderSelect only runs on the
+     * cache when the builder of the backend wraps its results, see {@link SqlBuilderSelect#wrapsResultSets()}, and
+     * otherwise returns the cursor of the backend.
+     * @param size maximum number of cached statements
+     */
+    public synchronized void setStatementCacheSize(int size){
+        statementCacheSize = size;
+        closeStatementCaches();
+    }
+
+    /**
+     * @return the statement cache of the current connection (the writer in pool mode), null if it is disabled or
+     * the platform has no JDBC connection
+     */
+    public StatementCache statementCache(){
+        return statementCache(db);
+    }
+
+    private synchronized StatementCache statementCache(Database database){
+        if(statementCacheSize <= 0 || database == null) return null;
+        Connection connection = database.getConnection();
+        if(connection == null) return null;
+        StatementCache cache = statementCaches.get(database);
+        if(cache == null || cache.connection() != connection){
+            if(cache != null) cache.close();
+            cache = new StatementCache(connection, statementCacheSize);
+            statementCaches.put(database, cache);
+        }
+        return cache;
+    }
+
+    private synchronized void closeStatementCaches(){
+        for (StatementCache cache : statementCaches.values()) {
+            cache.close();
+        }
+        statementCaches.clear();
+    }
+
+    /**
+     * Enables the result cache of getCursor, see {@link QueryCache}. Only used when the database runs on JDBC and
+     * outside of {@link #inTransaction(Transaction)}, where a query may see writes that are not committed yet.
+     * @param maxEntries maximum number of results kept, 0 disables the cache
+     * @param ttlMillis time a result is kept, 0 to keep it until it is evicted or its table is written
+     */
+    public void setQueryCache(int maxEntries, long ttlMillis){
+        queryCache = maxEntries > 0 ? new QueryCache(maxEntries, ttlMillis) : null;
+    }
+
+    /**
+     * @return the result cache of getCursor, null if it is disabled
+     */
+    public QueryCache queryCache(){
+        return queryCache;
+    }
+
+    /**
+     * Registers the listener told of every statement run by getCursor, insert, upsert, update and delete and of
+     * every transaction, see {@link DatabaseMetrics}. Without one a statement only pays for a null check.
+     * @param listener the listener, null to remove it
+     */
+    public void setListener(DatabaseListener listener){
+        this.listener = listener;
+    }
+
+    /**
+     * @return the registered listener, null if there is none
+     */
+    public DatabaseListener listener(){
+        return listener;
+    }
+
+    /**
+     * Registers the analyzer explaining each new select shape run by getCursor and iterate, for development builds.
+     * @param analyzer the analyzer, null to remove it
+     */
+    public void setQueryPlanAnalyzer(QueryPlanAnalyzer analyzer){
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * @return the registered query plan analyzer, null if there is none
+     */
+    public QueryPlanAnalyzer queryPlanAnalyzer(){
+        return analyzer;
+    }
+
+    /**
+     * Runs the query of builder. A query with more parameters than {@link SqliteLimits#MAX_VARIABLE_NUMBER}, a long
+     * IN list, runs once per chunk of the list and the returned {@link ChainedCursor} reads the chunks in turn.
+     */
     public DatabaseCursor getCursor(SqlBuilderSelect builder) throws SQLiteGdxException, SQLException {
-        return db.getCursor(builder);
+        QueryPlanAnalyzer analyzer = this.analyzer;
+        if(analyzer != null) analyzer.analyze(reader(), builder);
+        DatabaseListener listener = this.listener;
+        if(listener == null) return query(builder);
+        long start = System.nanoTime();
+        DatabaseCursor cursor = query(builder);
+        return measured(listener, builder.createStatement(), builder.parameterCount(), start, cursor);
+    }
+    private DatabaseCursor query(SqlBuilderSelect builder) throws SQLiteGdxException, SQLException {
+        if(builder.parameterCount() > SqliteLimits.MAX_VARIABLE_NUMBER){
+            List<DatabaseCursor> cursors = new ArrayList<>();
+            try {
+                for (PreparedQuery chunk : builder.compileChunks(SqliteLimits.MAX_VARIABLE_NUMBER)) {
+                    cursors.add(query(chunk));
+                }
+            } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+                for (DatabaseCursor cursor : cursors) {
+                    cursor.close();
+                }
+                throw e;
+            }
+            return new ChainedCursor(cursors);
+        }
+        Database reader = reader();
+        StatementCache cache = statementCache(reader);
+        QueryCache results = queryCache;
+        if(cache != null && results != null && !isInTransaction()){
+            return results.getCursor(QueryCache.key(builder.createStatement(), builder.parameterValues()),
+                builder.getTable(), () -> builder.executeQuery(cache));
+        }
+        return cache != null && builder.wrapsResultSets() ? builder.getCursor(cache) : reader.getCursor(builder);
     }
     public DatabaseCursor getCursor(DatabaseCursor cursor, SqlBuilderSelect builder) throws SQLiteGdxException, SQLException{
-        return db.getCursor(cursor, builder);
+        return reader().getCursor(cursor, builder);
+    }
+    public DatabaseCursor getCursor(PreparedQuery query, Object... values) throws SQLiteGdxException, SQLException{
+        DatabaseListener listener = this.listener;
+        if(listener == null) return query(query, values);
+        long start = System.nanoTime();
+        DatabaseCursor cursor = query(query, values);
+        return measured(listener, query.getSql(), query.parameterValues(values).size(), start, cursor);
+    }
+    private DatabaseCursor query(PreparedQuery query, Object... values) throws SQLiteGdxException, SQLException{
+        Database reader = reader();
+        StatementCache cache = statementCache(reader);
+        QueryCache results = queryCache;
+        if(cache != null && results != null && !isInTransaction()){
+            return results.getCursor(QueryCache.key(query.getSql(), query.parameterValues(values)),
+                query.getTable(), () -> query.executeQuery(cache, values));
+        }
+        return cache != null ? query.getCursor(cache, values) : reader.getCursor(query, values);
+    }
+    private static DatabaseCursor measured(DatabaseListener listener, String sql, int parameters, long start, DatabaseCursor cursor){
+        listener.onQuery(sql, parameters, System.nanoTime() - start);
+        return cursor == null ? null : new MeasuredCursor(cursor, sql, listener);
+    }
+
+    /**
+     * Same as {@link #iterate(SqlBuilderSelect, ResultMapper, int)} as a Stream, close it (try-with-resources) when
+     * it is not consumed to the end.
+     */
+    public <T> Stream<T> stream(SqlBuilderSelect builder, ResultMapper<T> mapper, int fetchSize) throws SQLiteGdxException, SQLException{
+        return iterate(builder, mapper, fetchSize).stream();
+    }
+
+    /**
+     * Runs the query of builder and maps its rows lazily, one row at a time as they are consumed, so results far
+     * larger than memory can be walked. The query runs on its own statement, not on the statement cache, and keeps
+     * its connection (the reader of the calling thread in pool mode) busy until the iterator is closed. Only on
+     * JDBC, on Android getCursor already reads its result in windows.
+     * @param builder the query
+     * @param mapper maps each row
+     * @param fetchSize number of rows the driver fetches at a time, 0 for the driver default
+     * @return iterator over the mapped rows, closed automatically after the last row
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RowIterator<T> iterate(SqlBuilderSelect builder, ResultMapper<T> mapper, int fetchSize) throws SQLiteGdxException, SQLException{
+        Database reader = reader();
+        Connection connection = reader.getConnection();
+        if(connection == null) throw new SQLiteGdxException(E529);
+        QueryPlanAnalyzer analyzer = this.analyzer;
+        if(analyzer != null) analyzer.analyze(reader, builder);
+        PreparedQuery query = builder.compile();
+        PreparedStatement ps = connection.prepareStatement(query.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            query.bind(ps);
+            ps.setFetchSize(fetchSize);
+            return new RowIterator<>(ps.executeQuery(), mapper != null ? mapper : (ResultMapper<T>) query.getResultMapper());
+        } catch (SQLException | RuntimeException e) {
+            ps.close();
+            throw e;
+        }
     }
 
     public OptionalLong insert(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException{
-        return db.insert(builder);
+        DatabaseListener listener = this.listener;
+        StatementCache cache = statementCache();
+        transactionLock.lock();
+        long start = listener != null ? System.nanoTime() : 0;
+        try {
+            OptionalLong id = cache != null ? builder.insert(cache) : db.insert(builder);
+            if(listener != null) listener.onUpdate(builder.createStatement(), builder.getValues().size(), System.nanoTime() - start, id.isPresent() ? 1 : 0);
+            return id;
+        } finally {
+            written(builder.getTable());
+            transactionLock.unlock();
+        }
     }
+    /**
+     * Inserts every row of the builder in one savepoint with one reused statement, see
+     * {@link Database#insertAll(SqlBuilderInsert)} for what a failure rolls back.
+     * @param builder insert builder holding the rows, see {@link SqlBuilderInsert#row(Object...)}
+     * @return the row id of each inserted row, in the order of the rows
+     */
+    public long[] insertAll(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException{
+        DatabaseListener listener = this.listener;
+        StatementCache cache = statementCache();
+        transactionLock.lock();
+        long start = listener != null ? System.nanoTime() : 0;
+        try {
+            long[] ids = cache != null ? builder.insertAll(cache) : db.insertAll(builder);
+            if(listener != null) listener.onUpdate(builder.createStatement(), builder.getValues().size() * ids.length, System.nanoTime() - start, ids.length);
+            return ids;
+        } finally {
+            written(builder.getTable());
+            transactionLock.unlock();
+        }
+    }
+    /**
+     * Inserts every row of the builder in one savepoint as {@link #insertAll(SqlBuilderInsert)}, without reading
+     * back the row ids, see {@link SqlBuilderInsert#insertBatch(StatementCache)}. Without a statement cache the rows
+     * go through insertAll.
+     * @param builder insert builder holding the rows, see {@link SqlBuilderInsert#row(Object...)}
+     * @return the number of rows inserted
+     */
+    public int insertBatch(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException{
+        DatabaseListener listener = this.listener;
+        StatementCache cache = statementCache();
+        transactionLock.lock();
+        long start = listener != null ? System.nanoTime() : 0;
+        try {
+            int rows = cache != null ? builder.insertBatch(cache) : db.insertAll(builder).length;
+            if(listener != null) listener.onUpdate(builder.createStatement(), builder.getValues().size() * rows, System.nanoTime() - start, rows);
+            return rows;
+        } finally {
+            written(builder.getTable());
+            transactionLock.unlock();
+        }
+    }
+    /**
+     * Inserts the row of the builder or updates the row it conflicts with, in one statement.
+     * @param builder upsert builder
+     * @return the number of rows inserted or updated
+     */
+    public OptionalInt upsert(SqlBuilderUpsert builder) throws SQLiteGdxException, SQLException{
+        DatabaseListener listener = this.listener;
+        StatementCache cache = statementCache();
+        transactionLock.lock();
+        long start = listener != null ? System.nanoTime() : 0;
+        try {
+            OptionalInt changed = cache != null ? builder.upsert(cache) : db.upsert(builder);
+            if(listener != null) listener.onUpdate(builder.createStatement(), builder.getValues().size(), System.nanoTime() - start, changed.orElse(0));
+            return changed;
+        } finally {
+            written(builder.getTable());
+            transactionLock.unlock();
+        }
+    }
+    /**
+     * Saves every row of the builder in one savepoint with one reused statement, see
+     * {@link Database#upsertAll(SqlBuilderUpsert)} for what a failure rolls back.
+     * @param builder upsert builder holding the rows, see {@link SqlBuilderUpsert#row(Object...)}
+     * @return the number of rows inserted or updated
+     */
+    public int upsertAll(SqlBuilderUpsert builder) throws SQLiteGdxException, SQLException{
+        DatabaseListener listener = this.listener;
+        StatementCache cache = statementCache();
+        transactionLock.lock();
+        long start = listener != null ? System.nanoTime() : 0;
+        try {
+            int changed = cache != null ? builder.upsertAll(cache) : db.upsertAll(builder);
+            if(listener != null) listener.onUpdate(builder.createStatement(), builder.getValues().size() * builder.batchRows().size(), System.nanoTime() - start, changed);
+            return changed;
+        } finally {
+            written(builder.getTable());
+            transactionLock.unlock();
+        }
+    }
+    /**
+     * Runs the delete of builder, in one transaction once per chunk of its IN list when it has more parameters than
+     * {@link SqliteLimits#MAX_VARIABLE_NUMBER}. Chunks only on JDBC.
+     */
     public OptionalInt delete(SqlBuilderDelete builder) throws SQLiteGdxException, SQLException{
-        return db.delete(builder);
+        if(builder.parameterCount() > SqliteLimits.MAX_VARIABLE_NUMBER && !isInTransaction()){
+            return inTransaction(TransactionMode.IMMEDIATE, h -> h.delete(builder));
+        }
+        DatabaseListener listener = this.listener;
+        StatementCache cache = statementCache();
+        transactionLock.lock();
+        long start = listener != null ? System.nanoTime() : 0;
+        try {
+            OptionalInt changed = cache != null ? builder.delete(cache) : db.delete(builder);
+            if(listener != null) listener.onUpdate(Statements.sql(builder), builder.parameterCount(), System.nanoTime() - start, changed.orElse(0));
+            return changed;
+        } finally {
+            written(builder.getTable());
+            transactionLock.unlock();
+        }
     }
+    /**
+     * Runs the update of builder, in one transaction once per chunk of its IN list when it has more parameters than
+     * {@link SqliteLimits#MAX_VARIABLE_NUMBER}. Chunks only on JDBC.
+     */
     public OptionalInt update(SqlBuilderUpdate builder) throws SQLiteGdxException, SQLException{
-        return db.update(builder);
+        if(builder.parameterCount() > SqliteLimits.MAX_VARIABLE_NUMBER && !isInTransaction()){
+            return inTransaction(TransactionMode.IMMEDIATE, h -> h.update(builder));
+        }
+        DatabaseListener listener = this.listener;
+        StatementCache cache = statementCache();
+        transactionLock.lock();
+        long start = listener != null ? System.nanoTime() : 0;
+        try {
+            OptionalInt changed = cache != null ? builder.update(cache) : db.update(builder);
+            if(listener != null) listener.onUpdate(Statements.sql(builder), builder.parameterCount(), System.nanoTime() - start, changed.orElse(0));
+            return changed;
+        } finally {
+            written(builder.getTable());
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates the cached results of table. Inside a transaction the table is invalidated again when the
+     * transaction ends, readers may have cached the committed rows in the meantime.
+     */
+    private void written(String table){
+        QueryCache results = queryCache;
+        if(results == null) return;
+        results.invalidate(table);
+        if(isInTransaction() && table != null) transactionTables.add(table);
+    }
+
+    /**
+     * Same as {@link #inTransaction(TransactionMode, Transaction)} with {@link TransactionMode#DEFERRED}.
+     */
+    public <T> T inTransaction(Transaction<T> work) throws SQLiteGdxException, SQLException{
+        return inTransaction(TransactionMode.DEFERRED, work);
+    }
+
+    /**
+     * Runs work in a transaction: everything done through this handler inside work is committed at once, so all
+     * the writes share one journal sync. If work throws, everything it did is rolled back and the exception is
+     * rethrown, checked exceptions other than SQLException and SQLiteGdxException wrapped in a SQLiteGdxException.
+     * <p>
+     * Calls can be nested, an inner call runs in a savepoint that is released when it completes or rolled back
+     * alone when it throws. mode only applies to the outermost call. One thread at a time runs a transaction,
+     * other threads calling this method wait until it ends, as do their insert, insertAll, upsert, upsertAll,
+     * update, delete and execSQL calls: they run on the same connection and would otherwise join the transaction,
+     * and be rolled back with it.
+     *
+     * @param mode how the outermost transaction takes its locks
+     * @param work the work to run
+     * @return the result of work
+     */
+    public <T> T inTransaction(TransactionMode mode, Transaction<T> work) throws SQLiteGdxException, SQLException{
+        transactionLock.lock();
+        int depth = ++transactionDepth;
+        String savepoint = "sp" + depth;
+        DatabaseListener listener = depth == 1 ? this.listener : null;
+        long start = listener != null ? System.nanoTime() : 0;
+        boolean committed = false;
+        try {
+            exec(depth == 1 ? "BEGIN " + mode.name() + ";" : "SAVEPOINT " + savepoint + ";");
+            T result;
+            try {
+                result = work.run(this);
+                exec(depth == 1 ? "COMMIT;" : "RELEASE " + savepoint + ";");
+                committed = true;
+            } catch (Throwable t) {
+                try {
+                    if(depth == 1){
+                        exec("ROLLBACK;");
+                    } else {
+                        exec("ROLLBACK TO " + savepoint + ";");
+                        exec("RELEASE " + savepoint + ";");
+                    }
+                } catch (Exception rollbackFailure) {
+                    t.addSuppressed(rollbackFailure);
+                }
+                if(t instanceof SQLiteGdxException) throw (SQLiteGdxException) t;
+                if(t instanceof SQLException) throw (SQLException) t;
+                if(t instanceof RuntimeException) throw (RuntimeException) t;
+                if(t instanceof Error) throw (Error) t;
+                throw new SQLiteGdxException(E526, t);
+            }
+            return result;
+        } finally {
+            if(--transactionDepth == 0 && !transactionTables.isEmpty()){
+                QueryCache results = queryCache;
+                for (String table : transactionTables) {
+                    if(results != null) results.invalidate(table);
+                }
+                transactionTables.clear();
+            }
+            transactionLock.unlock();
+            if(listener != null) listener.onTransaction(mode, System.nanoTime() - start, committed);
+        }
+    }
+
+    /**
+     * @return true if the calling thread is inside {@link #inTransaction(TransactionMode, Transaction)}
+     */
+    public boolean isInTransaction(){
+        return transactionLock.isHeldByCurrentThread() && transactionDepth > 0;
+    }
+
+    /** Runs a statement without result, on the statement cache when there is one. */
+    @SuppressWarnings("deprecation")
+    private void exec(String sql) throws SQLiteGdxException, SQLException{
+        StatementCache cache = statementCache();
+        if(cache != null){
+            cache.execute(sql, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+        } else {
+            db.execSQL(sql);
+        }
     }
 
     @Deprecated
     public void execSQL(String sql){
+        transactionLock.lock();
         try {
             db.execSQL(sql);
         } catch (SQLiteGdxException e) {
             Gdx.app.error(TAG, E525+" : "+e);
+        } finally {
+            transactionLock.unlock();
         }
+        QueryCache results = queryCache;
+        if(results != null) results.clear();
     }
 
     public Database db(){
@@ -210,6 +919,9 @@ public class Handler {
     }
 
     public void close(){
+        stopSnapshots();
+        closeStatementCaches();
+        if(pool != null) pool.close();
         try {
             db.closeDatabase();
         } catch (SQLiteGdxException ignored) {}
@@ -7,16 +7,21 @@
  * 20230111  @version 01           @author ORIGINAL AUTHOR
  *           Initial version
  *           Use Handler to Load Sql
+ * 20261017  Added getCursor delegation for PreparedQuery
+ *           Added insertAll delegation
+ *           Added upsert and upsertAll delegation
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  *
  **********************************************************************************************************************</p>*/
 package com.badlogic.gdx.sql;
 
+import com.badlogic.gdx.sql.builder.PreparedQuery;
 import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
 import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
 import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
 import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
 
 import java.io.Closeable;
 import java.sql.SQLException;
@@ -65,10 +70,22 @@ public class LoadSqlite implements Closeable {
     public DatabaseCursor getCursor(DatabaseCursor cursor, SqlBuilderSelect builder) throws SQLiteGdxException, SQLException{
         return db.getCursor(cursor, builder);
     }
+    public DatabaseCursor getCursor(PreparedQuery query, Object... values) throws SQLiteGdxException, SQLException{
+        return db.getCursor(query, values);
+    }
 
     public OptionalLong insert(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException{
         return db.insert(builder);
     }
+    public long[] insertAll(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException{
+        return db.insertAll(builder);
+    }
+    public OptionalInt upsert(SqlBuilderUpsert builder) throws SQLiteGdxException, SQLException{
+        return db.upsert(builder);
+    }
+    public int upsertAll(SqlBuilderUpsert builder) throws SQLiteGdxException, SQLException{
+        return db.upsertAll(builder);
+    }
     public OptionalInt delete(SqlBuilderDelete builder) throws SQLiteGdxException, SQLException{
         return db.delete(builder);
     }
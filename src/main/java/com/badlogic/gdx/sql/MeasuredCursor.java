@@ -0,0 +1,107 @@
+/**<p>*********************************************************************************************************************
+ * <h1>MeasuredCursor</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           DatabaseCursor counting the rows read, reported to a DatabaseListener on close
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor returned by {@link Handler#getCursor} while a {@link DatabaseListener} is registered, delegating to the
+ * cursor of the query and reporting the rows read once it is closed.
+ */
+final class MeasuredCursor implements DatabaseCursor {
+    private final DatabaseCursor cursor;
+    private final String sql;
+    private final DatabaseListener listener;
+    private long rows;
+    private boolean closed;
+
+    MeasuredCursor(final DatabaseCursor cursor, final String sql, final DatabaseListener listener) {
+        this.cursor = cursor;
+        this.sql = sql;
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean next() {
+        if (!cursor.next()) return false;
+        rows++;
+        return true;
+    }
+
+    @Override
+    public int fetch(final int maxRows, final Object... buffers) {
+        final int fetched = cursor.fetch(maxRows, buffers);
+        rows += fetched;
+        return fetched;
+    }
+
+    @Override
+    public byte[] getBlob(final int columnIndex) {
+        return cursor.getBlob(columnIndex);
+    }
+
+    @Override
+    public int getBlob(final int columnIndex, final ByteBuffer target) {
+        return cursor.getBlob(columnIndex, target);
+    }
+
+    @Override
+    public InputStream getBlobStream(final int columnIndex) {
+        return cursor.getBlobStream(columnIndex);
+    }
+
+    @Override
+    public double getDouble(final int columnIndex) {
+        return cursor.getDouble(columnIndex);
+    }
+
+    @Override
+    public float getFloat(final int columnIndex) {
+        return cursor.getFloat(columnIndex);
+    }
+
+    @Override
+    public int getInt(final int columnIndex) {
+        return cursor.getInt(columnIndex);
+    }
+
+    @Override
+    public long getLong(final int columnIndex) {
+        return cursor.getLong(columnIndex);
+    }
+
+    @Override
+    public short getShort(final int columnIndex) {
+        return cursor.getShort(columnIndex);
+    }
+
+    @Override
+    public String getString(final int columnIndex) {
+        return cursor.getString(columnIndex);
+    }
+
+    @Override
+    public int getCount() {
+        return cursor.getCount();
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+        if (closed) return;
+        closed = true;
+        listener.onRowsReturned(sql, rows);
+    }
+}
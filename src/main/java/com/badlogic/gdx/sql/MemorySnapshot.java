@@ -0,0 +1,269 @@
+/**<p>*********************************************************************************************************************
+ * <h1>MemorySnapshot</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Loads the database file into the in-memory database of a Handler, snapshots it back in the background
+ *           the loaded file upgraded when its user_version is older, JDBC only
+ *           copied to the staging database with the backup API, open cursors no longer make snapshots fail
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * E540: Unable to load %s into memory
+ * E541: Unable to snapshot the database to %s
+ * E542: In-memory mode needs a JDBC connection, %s has none
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The on-disk side of the in-memory mode of a {@link Handler}, see {@link Handler#setInMemory(long)}.
+ * <p>
+ * {@link #load()} copies the database file into the in-memory database with the backup API (restore from), then
+ * upgrades it when the file is of an older version. The in-memory mode needs JDBC, on Android a :memory: or URI
+ * name would be taken as the name of a file.
+ * <p>
+ * A snapshot runs on the snapshot thread in two steps, so that queries only wait for a copy in memory:
+ * <ol>
+ * <li>holding the transaction lock of the handler, taken by every write so that no transaction or savepoint is open,
+ * the in-memory database is copied with the backup API (backup to) into a staging database, a shared cache in-memory
+ * database kept open by a second connection. Unlike VACUUM INTO, the backup runs while statements of the in-memory
+ * connection are partly read: an open cursor, {@link RowIterator} or stream does not hold up snapshots;</li>
+ * <li>without any lock, the second connection writes the staging database to a temporary file next to the database
+ * file with the backup API (backup to), then the temporary file is renamed over the database file.</li>
+ * </ol>
+ * The database file is always a complete snapshot, the rename being atomic where the file system allows it. Timed
+ * snapshots are skipped while nothing changed since the last one.
+ */
+final class MemorySnapshot {
+    private static final String TAG = MemorySnapshot.class.getCanonicalName();
+    private static final String E540 = "Unable to load %s into memory";
+    private static final String E541 = "Unable to snapshot the database to %s";
+    private static final String E542 = "In-memory mode needs a JDBC connection, %s has none";
+
+    private static final AtomicInteger STAGES = new AtomicInteger();
+
+    private final Database memory;
+    private final String file;
+    private final int dbVersion;
+    private final String dbOnCreateQuery;
+    private final String dbOnUpgradeQuery;
+    private final ReentrantLock lock;
+    private final ScheduledExecutorService executor;
+    /** total_changes() of the in-memory connection at the last snapshot, -1 when the file is behind */
+    private long snapshotChanges = -1;
+
+    /**
+     * @param memory the in-memory database of the handler, open
+     * @param file the database file
+     * @param dbVersion version of the database, the file is upgraded to it and it is used by the staging connection
+     * @param dbOnCreateQuery create query of the handler, null for none
+     * @param dbOnUpgradeQuery upgrade query of the handler, null for none
+     * @param lock the transaction lock of the handler, no statement runs in a transaction while it is held
+     */
+    MemorySnapshot(Database memory, String file, int dbVersion, String dbOnCreateQuery, String dbOnUpgradeQuery,
+                   ReentrantLock lock) {
+        this.memory = memory;
+        this.file = file;
+        this.dbVersion = dbVersion;
+        this.dbOnCreateQuery = dbOnCreateQuery;
+        this.dbOnUpgradeQuery = dbOnUpgradeQuery;
+        this.lock = lock;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "gdx-sqlite-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Copies the database file into the in-memory database and upgrades it, nothing to do when there is no file yet.
+     *
+     * @throws SQLiteGdxException if the in-memory database has no JDBC connection, or the file can not be upgraded
+     */
+    void load() throws SQLiteGdxException, SQLException {
+        final Connection connection = memory.getConnection();
+        if (connection == null) {
+            throw new SQLiteGdxException(String.format(E542, memory.getClass().getName()));
+        }
+        if (!new File(file).isFile()) return;
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("restore from " + quote(file, '"'));
+            }
+            upgrade();
+        } catch (SQLiteGdxException e) {
+            throw new SQLiteGdxException(String.format(E540, file), e);
+        } catch (SQLException e) {
+            throw new SQLException(String.format(E540, file), e);
+        }
+        snapshotChanges = totalChanges();
+    }
+
+    /**
+     * Brings the loaded file to dbVersion, as SQLiteOpenHelper does on Android: the restore replaced what the create
+     * query made in memory with the file, of the version in its user_version. A file of an older version gets the
+     * upgrade query then the create query, a file without a version (0) the create query only. A newer file is kept
+     * as is. The queries and the new user_version are committed at once.
+     */
+    @SuppressWarnings("deprecation")
+    private void upgrade() throws SQLiteGdxException, SQLException {
+        final String version = Handler.pragma(memory, "PRAGMA user_version;");
+        final int fileVersion = version == null ? 0 : Integer.parseInt(version);
+        if (fileVersion >= dbVersion) return;
+        memory.execSQL("BEGIN IMMEDIATE;");
+        try {
+            if (fileVersion > 0 && dbOnUpgradeQuery != null) memory.execSQL(dbOnUpgradeQuery);
+            if (dbOnCreateQuery != null) memory.execSQL(dbOnCreateQuery);
+            memory.execSQL("PRAGMA user_version = " + dbVersion + ";");
+            memory.execSQL("COMMIT;");
+        } catch (SQLiteGdxException | RuntimeException e) {
+            try {
+                memory.execSQL("ROLLBACK;");
+            } catch (SQLiteGdxException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the timed snapshots.
+     *
+     * @param intervalMillis time between the end of a snapshot and the start of the next, 0 or less for none
+     */
+    void start(long intervalMillis) {
+        if (intervalMillis > 0) {
+            executor.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queues a snapshot, taken even while cursors or iterators over the in-memory database are open.
+     *
+     * @return a future completed once the database file holds the current content of the in-memory database,
+     * completed exceptionally if the snapshot failed
+     */
+    CompletableFuture<Void> checkpoint() {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    snapshot(true);
+                    done.complete(null);
+                } catch (Throwable t) {
+                    done.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException rejected) {
+            done.completeExceptionally(rejected);
+        }
+        return done;
+    }
+
+    /**
+     * Stops the timed snapshots and takes a last one, waiting for it. Failures are logged.
+     */
+    void close() {
+        final CompletableFuture<Void> last = checkpoint();
+        executor.shutdown();
+        try {
+            last.get();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Gdx.app.error(TAG, String.format(E541, file) + " : " + e.getCause());
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot(false);
+        } catch (SQLiteGdxException | SQLException | IOException | RuntimeException e) {
+            Gdx.app.error(TAG, String.format(E541, file) + " : " + e);
+        }
+    }
+
+    /**
+     * Writes the in-memory database to the database file, runs on the snapshot thread.
+     *
+     * @param force false to skip the snapshot when nothing changed since the last one
+     */
+    @SuppressWarnings("deprecation")
+    private void snapshot(boolean force) throws SQLiteGdxException, SQLException, IOException {
+        final String stageName = "file:" + new File(file).getName() + "-snapshot-" + STAGES.incrementAndGet()
+            + "?mode=memory&cache=shared";
+        final Database stage = DatabaseFactory.getNewDatabase(stageName, dbVersion, null, null);
+        stage.setupDatabase();
+        stage.openOrCreateDatabase();
+        try {
+            lock.lock();
+            try {
+                final long changes = totalChanges();
+                if (!force && changes == snapshotChanges) return;
+                try (Statement statement = memory.getConnection().createStatement()) {
+                    statement.execute("backup to " + quote(stageName, '"'));
+                }
+                snapshotChanges = changes;
+            } finally {
+                lock.unlock();
+            }
+            final File target = new File(file);
+            final File temporary = new File(file + ".snapshot");
+            Files.deleteIfExists(temporary.toPath());
+            final Connection connection = stage.getConnection();
+            if (connection == null) {
+                throw new SQLiteGdxException(String.format(E542, stage.getClass().getName()));
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("backup to " + quote(temporary.getPath(), '"'));
+            }
+            move(temporary.toPath(), target.toPath());
+        } catch (SQLiteGdxException | SQLException | IOException | RuntimeException e) {
+            snapshotChanges = -1;
+            throw e;
+        } finally {
+            stage.closeDatabase();
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** @return number of rows changed by the in-memory connection since it was opened */
+    private long totalChanges() throws SQLiteGdxException, SQLException {
+        final String changes = Handler.pragma(memory, "SELECT total_changes();");
+        return changes == null ? 0 : Long.parseLong(changes);
+    }
+
+    private static String quote(String value, char quote) {
+        final String q = String.valueOf(quote);
+        return q + value.replace(q, q + q) + q;
+    }
+}
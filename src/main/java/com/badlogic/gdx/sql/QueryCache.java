@@ -0,0 +1,265 @@
+/**<p>*********************************************************************************************************************
+ * <h1>QueryCache</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Bounded LRU cache of query results with a TTL and invalidation per table
+ *           key compares the type and the value of each parameter, arrays by content
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the rows of recent query results in memory, keyed by their SQL text and bound values, so that a query
+ * repeated many times a second (definitions, localization, metadata) only runs once. Used by {@link Handler} once
+ * enabled with {@link Handler#setQueryCache(int, long)}.
+ * <p>
+ * The cache is bounded, the least recently used result is evicted once the capacity is reached, and a result
+ * older than the time to live is loaded again. Every insert, update and delete of the handler invalidates the
+ * results of its table. Writes that bypass the handler (execSQL, another process) are not seen, call
+ * {@link #invalidate(String)} or {@link #clear()} after them.
+ */
+public class QueryCache {
+
+    /**
+     * Runs the query on a miss.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        ResultSet load() throws SQLiteGdxException, SQLException;
+    }
+
+    /**
+     * SQL text and bound values of a query. Two values are the same parameter only if they have the same class and
+     * are equal, arrays (BLOB parameters) by content, so 1 and "1" or two byte[] with the same bytes do not mix up.
+     */
+    public static final class Key {
+        private final String sql;
+        private final Object[] values;
+        private final int hash;
+
+        private Key(final String sql, final Object[] values) {
+            this.sql = sql;
+            this.values = values;
+            this.hash = 31 * sql.hashCode() + Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key other = (Key) o;
+            if (hash != other.hash || !sql.equals(other.sql) || values.length != other.values.length) return false;
+            for (int i = 0; i < values.length; i++) {
+                final Object value = values[i];
+                final Object otherValue = other.values[i];
+                if (value == null || otherValue == null) {
+                    if (value != otherValue) return false;
+                } else if (value.getClass() != otherValue.getClass() || !Objects.deepEquals(value, otherValue)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return values.length == 0 ? sql : sql + " " + Arrays.deepToString(values);
+        }
+    }
+
+    private static final class Entry {
+        final String table;
+        final Object[][] rows;
+        final long loadedAt;
+
+        Entry(final String table, final Object[][] rows, final long loadedAt) {
+            this.table = table;
+            this.rows = rows;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LinkedHashMap<Key, Entry> entries;
+    /** Incremented on each invalidation of a table, a result loaded across an invalidation is not kept. */
+    private final Map<String, Long> generations = new HashMap<>();
+    /** Incremented by {@link #clear()}, same purpose for every table. */
+    private long epoch;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param capacity maximum number of results kept
+     * @param ttlMillis time a result is kept, 0 or less to keep it until it is evicted or invalidated
+     */
+    public QueryCache(final int capacity, final long ttlMillis) {
+        this.capacity = capacity;
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000L : 0;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @param sql the SELECT statement
+     * @param values the values bound to its parameters
+     * @return the key of the result of sql for values, byte[] values are copied so it stays valid if they change
+     */
+    public static Key key(final String sql, final List<Object> values) {
+        final Object[] copy = values.toArray();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] instanceof byte[]) {
+                copy[i] = ((byte[]) copy[i]).clone();
+            }
+        }
+        return new Key(sql, copy);
+    }
+
+    /**
+     * Returns a cursor over the cached result for key, running loader and keeping its rows on a miss.
+     *
+     * @param key key of the query, see {@link #key(String, List)}
+     * @param table table the query pulls data from
+     * @param loader runs the query
+     * @return cursor over the result
+     * @throws SQLException if loader failed
+     */
+    public DatabaseCursor getCursor(final Key key, final String table, final Loader loader) throws SQLiteGdxException, SQLException {
+        final String name = name(table);
+        final long generation;
+        final long loadEpoch;
+        synchronized (this) {
+            final Entry entry = entries.get(key);
+            if (entry != null && (ttlNanos == 0 || System.nanoTime() - entry.loadedAt < ttlNanos)) {
+                hits++;
+                return new CachedCursor(entry.rows);
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            generation = generation(name);
+            loadEpoch = epoch;
+        }
+        final long loadedAt = System.nanoTime();
+        final Object[][] rows = CachedCursor.read(loader.load());
+        synchronized (this) {
+            if (generation == generation(name) && loadEpoch == epoch) {
+                entries.put(key, new Entry(name, rows, loadedAt));
+                evict();
+            }
+        }
+        return new CachedCursor(rows);
+    }
+
+    private long generation(final String name) {
+        final Long generation = generations.get(name);
+        return generation == null ? 0 : generation;
+    }
+
+    private static String name(final String table) {
+        return table == null ? "" : table.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void evict() {
+        final Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops every result of table.
+     *
+     * @param table name of the table that was written
+     */
+    public synchronized void invalidate(final String table) {
+        if (table == null) return;
+        final String name = name(table);
+        generations.put(name, generation(name) + 1);
+        final Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (name.equals(it.next().table)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    public synchronized long invalidationCount() {
+        return invalidations;
+    }
+
+    /**
+     * @return hits divided by lookups, 0 before the first lookup
+     */
+    public synchronized double hitRate() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return misses divided by lookups, 0 before the first lookup
+     */
+    public synchronized double missRate() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) misses / lookups;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Drops every result, the counters are kept. */
+    public synchronized void clear() {
+        epoch++;
+        entries.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "QueryCache[size=" + entries.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses
+            + ", evictions=" + evictions + ", invalidations=" + invalidations + "]";
+    }
+}
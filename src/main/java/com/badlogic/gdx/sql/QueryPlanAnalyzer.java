@@ -0,0 +1,297 @@
+/**<p>*********************************************************************************************************************
+ * <h1>QueryPlanAnalyzer</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           EXPLAIN QUERY PLAN of each new select shape, flags scans and temp B-tree sorts
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * W536: Query plan of %s: %s, suggested: %s
+ * E537: Unable to explain %s
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.sql.builder.Column;
+import com.badlogic.gdx.sql.builder.Condition;
+import com.badlogic.gdx.sql.builder.OrderType;
+import com.badlogic.gdx.sql.builder.PreparedQuery;
+import com.badlogic.gdx.sql.builder.SqlBuilderSelect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Development aid registered with {@link Handler#setQueryPlanAnalyzer(QueryPlanAnalyzer)}: the first time a select
+ * shape is run through getCursor or iterate, its plan is read with EXPLAIN QUERY PLAN and checked for
+ * <ul>
+ * <li>full table scans, a where clause no index serves, which only hurt once the table grows;</li>
+ * <li>temporary B-trees, the rows sorted for ORDER BY, GROUP BY or DISTINCT on every run.</li>
+ * </ul>
+ * For a flagged query the analyzer suggests the index that would serve it: the columns of the equality clauses,
+ * then the first range column or the grouping and order columns, then the other selected columns so that the index
+ * covers the query. Findings are logged through Gdx.app when it is running, and kept for {@link #report()}:
+ * <pre>
+ * QueryPlanAnalyzer analyzer = new QueryPlanAnalyzer();
+ * handler.setQueryPlanAnalyzer(analyzer);
+ * ... run the game or the tests ...
+ * System.out.println(analyzer.report());
+ * </pre>
+ * The plan is read once per shape and costs a statement, keep the analyzer out of release builds. On JDBC the
+ * query is explained with its values bound, elsewhere the parameters are left NULL, which gives the same plan
+ * unless the values are needed to choose between indexes.
+ */
+public class QueryPlanAnalyzer {
+    private static final String TAG = QueryPlanAnalyzer.class.getCanonicalName();
+    private static final String W536 = "Query plan of %s: %s, suggested: %s";
+    private static final String E537 = "Unable to explain %s";
+
+    private static final Pattern SCAN = Pattern.compile("^SCAN (?:TABLE )?(\\S+)(.*)$");
+    private static final Pattern TEMP_B_TREE = Pattern.compile("USE TEMP B-TREE FOR (.+)$");
+
+    /**
+     * Plan of one select shape and what is wrong with it.
+     */
+    public static final class Finding {
+        private final String sql;
+        private final List<String> plan;
+        private final List<String> issues;
+        private final String suggestedIndex;
+
+        Finding(String sql, List<String> plan, List<String> issues, String suggestedIndex) {
+            this.sql = sql;
+            this.plan = Collections.unmodifiableList(plan);
+            this.issues = Collections.unmodifiableList(issues);
+            this.suggestedIndex = suggestedIndex;
+        }
+
+        /** @return the shape of the query */
+        public String sql() {
+            return sql;
+        }
+
+        /** @return the detail column of each row of EXPLAIN QUERY PLAN */
+        public List<String> plan() {
+            return plan;
+        }
+
+        /** @return the scans and sorts found, empty for a good plan */
+        public List<String> issues() {
+            return issues;
+        }
+
+        /** @return CREATE INDEX statement serving the query, null when nothing was flagged */
+        public String suggestedIndex() {
+            return suggestedIndex;
+        }
+
+        public boolean flagged() {
+            return !issues.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder(sql);
+            for (String step : plan) {
+                sb.append("\n    ").append(step);
+            }
+            for (String issue : issues) {
+                sb.append("\n  ! ").append(issue);
+            }
+            if (suggestedIndex != null) {
+                sb.append("\n  + ").append(suggestedIndex);
+            }
+            return sb.toString();
+        }
+    }
+
+    private final Map<String, Finding> findings = new LinkedHashMap<>();
+
+    /**
+     * Explains the query of builder on database, if its shape was not seen before. Never throws, a failure is
+     * logged.
+     */
+    void analyze(Database database, SqlBuilderSelect builder) {
+        final String shape = DatabaseMetrics.shape(builder.createStatement());
+        synchronized (this) {
+            if (findings.containsKey(shape)) return;
+            findings.put(shape, null);
+        }
+        final Finding finding;
+        try {
+            final List<String> plan = explain(database, builder);
+            final List<String> issues = issues(plan);
+            finding = new Finding(shape, plan, issues, issues.isEmpty() ? null : suggestIndex(builder));
+        } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+            synchronized (this) {
+                findings.remove(shape);
+            }
+            if (Gdx.app != null) Gdx.app.error(TAG, String.format(E537, shape) + " : " + e);
+            return;
+        }
+        synchronized (this) {
+            findings.put(shape, finding);
+        }
+        if (finding.flagged() && Gdx.app != null) {
+            Gdx.app.log(TAG, String.format(W536, shape, finding.issues(), finding.suggestedIndex()));
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static List<String> explain(Database database, SqlBuilderSelect builder) throws SQLiteGdxException, SQLException {
+        final List<String> plan = new ArrayList<>();
+        final PreparedQuery query = builder.compileChunks(SqliteLimits.MAX_VARIABLE_NUMBER).get(0);
+        final Connection connection = database.getConnection();
+        if (connection != null) {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN QUERY PLAN " + query.getSql())) {
+                query.bind(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString(4));
+                    }
+                }
+            }
+            return plan;
+        }
+        final DatabaseCursor cursor = database.rawQuery("EXPLAIN QUERY PLAN " + query.getSql());
+        try {
+            while (cursor.next()) {
+                plan.add(cursor.getString(3));
+            }
+        } finally {
+            cursor.close();
+        }
+        return plan;
+    }
+
+    private static List<String> issues(List<String> plan) {
+        final List<String> issues = new ArrayList<>();
+        for (String step : plan) {
+            final String detail = step.trim();
+            final Matcher scan = SCAN.matcher(detail);
+            if (scan.matches() && !scan.group(2).contains("INDEX") && !"CONSTANT".equals(scan.group(1))
+                && !"SUBQUERY".equals(scan.group(1))) {
+                issues.add("full table scan of " + scan.group(1));
+            }
+            final Matcher sort = TEMP_B_TREE.matcher(detail);
+            if (sort.find()) {
+                issues.add("temporary B-tree for " + sort.group(1));
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * @return the CREATE INDEX statement for the equality columns, then the first range column or the grouping and
+     * order columns, then the other selected columns, null if the query filters and sorts on nothing
+     */
+    static String suggestIndex(SqlBuilderSelect builder) {
+        final Set<String> equality = new LinkedHashSet<>();
+        final Set<String> others = new LinkedHashSet<>();
+        for (Column column : builder.getClauses().keySet()) {
+            equality.add(column.getName());
+        }
+        for (Condition condition : builder.getConditions()) {
+            equality.addAll(condition.getEqualityColumns());
+        }
+        for (Condition condition : builder.getConditions()) {
+            for (String name : condition.getColumnNames()) {
+                if (!equality.contains(name)) others.add(name);
+            }
+        }
+        final Map<String, OrderType> orders = builder.getOrders();
+        boolean descending = false;
+        boolean ascending = false;
+        for (OrderType type : orders.values()) {
+            if (type == OrderType.DESC) descending = true;
+            else ascending = true;
+        }
+        final boolean mixed = descending && ascending;
+
+        final List<String> keys = new ArrayList<>();
+        final Set<String> used = new LinkedHashSet<>(equality);
+        keys.addAll(equality);
+        if (!builder.getGroupings().isEmpty() || !orders.isEmpty()) {
+            for (String name : builder.getGroupings()) {
+                if (used.add(name)) keys.add(name);
+            }
+            for (Map.Entry<String, OrderType> order : orders.entrySet()) {
+                if (used.add(order.getKey())) {
+                    keys.add(mixed && order.getValue() == OrderType.DESC ? order.getKey() + " DESC" : order.getKey());
+                }
+            }
+        } else if (!others.isEmpty()) {
+            final String range = others.iterator().next();
+            used.add(range);
+            keys.add(range);
+        }
+        if (keys.isEmpty()) return null;
+        for (String name : others) {
+            if (used.add(name)) keys.add(name);
+        }
+        for (String name : builder.getColumns()) {
+            if (used.add(name)) keys.add(name);
+        }
+        final StringBuilder name = new StringBuilder("idx_").append(builder.getTable());
+        for (String key : keys) {
+            name.append('_').append(key.split(" ")[0]);
+        }
+        return "CREATE INDEX " + name.toString().toLowerCase(Locale.ROOT) + " ON " + builder.getTable()
+            + " (" + String.join(", ", keys) + ");";
+    }
+
+    /**
+     * @return the finding of every shape explained so far, in the order they were first run
+     */
+    public synchronized List<Finding> findings() {
+        final List<Finding> list = new ArrayList<>(findings.size());
+        for (Finding finding : findings.values()) {
+            if (finding != null) list.add(finding);
+        }
+        return list;
+    }
+
+    /**
+     * @return the findings with at least one issue
+     */
+    public List<Finding> flagged() {
+        final List<Finding> list = new ArrayList<>();
+        for (Finding finding : findings()) {
+            if (finding.flagged()) list.add(finding);
+        }
+        return list;
+    }
+
+    /**
+     * @return the flagged findings, with their plan and suggested index, as text
+     */
+    public String report() {
+        final List<Finding> flagged = flagged();
+        final StringBuilder sb = new StringBuilder("QueryPlanAnalyzer: ")
+            .append(flagged.size()).append(" of ").append(findings().size()).append(" queries flagged");
+        for (Finding finding : flagged) {
+            sb.append("\n\n").append(finding);
+        }
+        return sb.toString();
+    }
+
+    /** Forgets every shape, each is explained again when it next runs. */
+    public synchronized void reset() {
+        findings.clear();
+    }
+}
@@ -0,0 +1,235 @@
+/**<p>*********************************************************************************************************************
+ * <h1>ResultSetCursor</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           DatabaseCursor over a JDBC ResultSet, leaving its statement open
+ *           fetch reads the ResultSet directly
+ *           BLOBs read into a ByteBuffer or streamed through the binary stream of the driver
+ *           getCount the number of rows of the result, the rest of it read into memory when asked early
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link DatabaseCursor} over a JDBC result set, the default cursor of
+ * {@link com.badlogic.gdx.sql.builder.SqlBuilderSelect#cursor(ResultSet)} for backends that do not wrap results
+ * themselves. Closing the cursor only closes the result set: the statement may belong to a {@link StatementCache}
+ * and be reused, a statement of its own is closed with its result through closeOnCompletion.
+ * <p>
+ * Getters follow JDBC on a column index shifted by one and throw a {@link SQLiteGdxRuntimeException} when the result
+ * can not be read. A JDBC result is read forward only: {@link #getCount()} called before the last row reads the rest
+ * of the result into memory, and the cursor goes on over those rows.
+ */
+public class ResultSetCursor implements DatabaseCursor {
+    protected final ResultSet resultSet;
+    /** rows next moved onto */
+    private int rows;
+    private boolean exhausted;
+    /** the current row and the rest of the result once getCount read them, null before */
+    private CachedCursor buffered;
+    /** rows of the result once buffered */
+    private int count;
+
+    public ResultSetCursor(final ResultSet resultSet) {
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public byte[] getBlob(final int columnIndex) {
+        if (buffered != null) return buffered.getBlob(columnIndex);
+        try {
+            return resultSet.getBytes(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the BLOB from the binary stream of the driver into target, straight into the array of a heap buffer and
+     * through a small chunk for a direct one. sqlite-jdbc has no incremental BLOB reads, its stream is over a full copy
+     * of the value: nothing is saved over {@link #getBlob(int)} there.
+     */
+    @Override
+    public int getBlob(final int columnIndex, final ByteBuffer target) {
+        if (buffered != null) return buffered.getBlob(columnIndex, target);
+        try (InputStream in = getBlobStream(columnIndex)) {
+            if (in == null) return -1;
+            int written = 0;
+            if (target.hasArray()) {
+                int read;
+                while ((read = in.read(target.array(), target.arrayOffset() + target.position(), target.remaining())) > 0) {
+                    target.position(target.position() + read);
+                    written += read;
+                }
+                if (read == 0 && in.read() != -1) throw new BufferOverflowException();
+                return written;
+            }
+            final byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                target.put(chunk, 0, read);
+                written += read;
+            }
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputStream getBlobStream(final int columnIndex) {
+        if (buffered != null) return buffered.getBlobStream(columnIndex);
+        try {
+            return resultSet.getBinaryStream(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    @Override
+    public double getDouble(final int columnIndex) {
+        if (buffered != null) return buffered.getDouble(columnIndex);
+        try {
+            return resultSet.getDouble(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    @Override
+    public float getFloat(final int columnIndex) {
+        if (buffered != null) return buffered.getFloat(columnIndex);
+        try {
+            return resultSet.getFloat(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    @Override
+    public int getInt(final int columnIndex) {
+        if (buffered != null) return buffered.getInt(columnIndex);
+        try {
+            return resultSet.getInt(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    @Override
+    public long getLong(final int columnIndex) {
+        if (buffered != null) return buffered.getLong(columnIndex);
+        try {
+            return resultSet.getLong(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    @Override
+    public short getShort(final int columnIndex) {
+        if (buffered != null) return buffered.getShort(columnIndex);
+        try {
+            return resultSet.getShort(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    @Override
+    public String getString(final int columnIndex) {
+        if (buffered != null) return buffered.getString(columnIndex);
+        try {
+            return resultSet.getString(columnIndex + 1);
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean next() {
+        if (buffered != null) {
+            if (!buffered.next()) return false;
+            rows++;
+            return true;
+        }
+        if (exhausted) return false;
+        try {
+            if (!resultSet.next()) {
+                exhausted = true;
+                return false;
+            }
+            rows++;
+            return true;
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the batch straight from the result set, without going through the getters of this cursor.
+     */
+    @Override
+    public int fetch(final int maxRows, final Object... buffers) {
+        if (buffered != null) return DatabaseCursor.super.fetch(maxRows, buffers);
+        try {
+            final int fetched = ColumnBuffers.fetch(resultSet, maxRows, buffers);
+            rows += fetched;
+            return fetched;
+        } catch (SQLException e) {
+            throw new SQLiteGdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Before the last row, reads the current row and the rest of the result into memory to count them.
+     *
+     * @return the number of rows of the result
+     */
+    @Override
+    public int getCount() {
+        if (buffered == null && !exhausted) {
+            try {
+                final boolean onRow = rows > 0;
+                final Object[] current = onRow ? CachedCursor.row(resultSet) : null;
+                final Object[][] rest = CachedCursor.read(resultSet);
+                final Object[][] all;
+                if (onRow) {
+                    all = new Object[rest.length + 1][];
+                    all[0] = current;
+                    System.arraycopy(rest, 0, all, 1, rest.length);
+                } else {
+                    all = rest;
+                }
+                buffered = new CachedCursor(all);
+                if (onRow) buffered.next();
+                count = rows - (onRow ? 1 : 0) + all.length;
+            } catch (SQLException e) {
+                throw new SQLiteGdxRuntimeException(e);
+            }
+        }
+        return buffered != null ? count : rows;
+    }
+
+    @Override
+    public void close() {
+        try {
+            resultSet.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**<p>*********************************************************************************************************************
+ * <h1>RowIterator</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Lazily mapped rows of a JDBC ResultSet, as Iterator or Stream
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * E530: Error reading the next row of a streamed query
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.sql.builder.ResultMapper;
+
+import java.io.Closeable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the rows of a query one at a time, a row is read and mapped only when {@link #next()} is called, so only
+ * the rows of the current fetch are held in memory whatever the size of the result. The result set and its
+ * statement are closed once the last row was read, by {@link #close()}, or by closing the {@link #stream()}.
+ * <p>
+ * Not thread-safe. SQL errors while iterating are thrown as {@link SQLiteGdxRuntimeException}.
+ *
+ * @param <T> type each row is mapped to
+ */
+public class RowIterator<T> implements Iterator<T>, Closeable {
+    private static final String E530 = "Error reading the next row of a streamed query";
+
+    private final ResultSet resultSet;
+    private final ResultMapper<T> mapper;
+    private boolean fetched;
+    private boolean hasNext;
+    private boolean closed;
+
+    /**
+     * @param resultSet result to iterate, closed together with its statement by this iterator
+     * @param mapper maps the current row of resultSet
+     */
+    public RowIterator(ResultSet resultSet, ResultMapper<T> mapper) {
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) return false;
+        if (!fetched) {
+            try {
+                hasNext = resultSet.next();
+            } catch (SQLException e) {
+                close();
+                throw new SQLiteGdxRuntimeException(E530, e);
+            }
+            fetched = true;
+            if (!hasNext) close();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        fetched = false;
+        try {
+            return mapper.map(resultSet);
+        } catch (SQLException e) {
+            close();
+            throw new SQLiteGdxRuntimeException(E530, e);
+        }
+    }
+
+    /**
+     * @return a sequential stream over the remaining rows, closing it closes this iterator
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /** Closes the result set and its statement, can be called more than once. */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            Statement statement = resultSet.getStatement();
+            resultSet.close();
+            if (statement != null) statement.close();
+        } catch (SQLException ignored) {}
+    }
+}
@@ -0,0 +1,214 @@
+/**<p>*********************************************************************************************************************
+ * <h1>SchemaBuilder</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           CREATE TABLE and CREATE INDEX from the Column metadata, missing indexes created at startup
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.sql.builder.Column;
+import com.badlogic.gdx.sql.builder.IndexDefinition;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schema declared from the {@link Column}s of each table and the {@link IndexDefinition}s of the queries run on it,
+ * instead of a hand written dbOnCreateQuery:
+ * <pre>
+ * SchemaBuilder schema = new SchemaBuilder()
+ *     .table("items", Item.values())
+ *     .index(IndexDefinition.on("items", Item.OWNER, Item.LEVEL));
+ * handler.startConnection();
+ * schema.sync(handler); // creates the tables and indexes the database does not have yet
+ * </pre>
+ * A column that {@link Column#isIndexed()} gets an index of its own, named idx_table_column. Existing tables are
+ * never altered, sync only creates what is missing.
+ */
+public class SchemaBuilder {
+    private final Map<String, List<Column>> tables = new LinkedHashMap<>();
+    private final Map<String, IndexDefinition> indexes = new LinkedHashMap<>();
+
+    /**
+     * Declares a table, its primary key, unique and indexed columns taken from the columns.
+     *
+     * @param table name of the table
+     * @param columns the columns, in order
+     * @return the builder this was invoked on
+     */
+    public SchemaBuilder table(String table, Column... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Table " + table + " needs at least one column");
+        }
+        tables.put(table, Arrays.asList(columns.clone()));
+        for (Column column : columns) {
+            if (column.isIndexed() && !column.isPrimaryKey()) {
+                index(IndexDefinition.on(table, column));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Declares an index, replacing a declared index of the same name.
+     *
+     * @param index the index
+     * @return the builder this was invoked on
+     */
+    public SchemaBuilder index(IndexDefinition index) {
+        indexes.put(index.getName().toLowerCase(Locale.ROOT), index);
+        return this;
+    }
+
+    /**
+     * @return the declared indexes, those of the indexed columns included
+     */
+    public List<IndexDefinition> getIndexes() {
+        return new ArrayList<>(indexes.values());
+    }
+
+    /**
+     * @param table name of a declared table
+     * @return CREATE TABLE IF NOT EXISTS statement of the table
+     */
+    public String createTable(String table) {
+        final List<Column> columns = tables.get(table);
+        if (columns == null) {
+            throw new IllegalArgumentException("Table " + table + " is not declared");
+        }
+        final List<String> keys = new ArrayList<>();
+        for (Column column : columns) {
+            if (column.isPrimaryKey()) keys.add(column.getName());
+        }
+        final StringBuilder sb = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(table).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            final Column column = columns.get(i);
+            if (i > 0) sb.append(", ");
+            sb.append(column.getName()).append(' ').append(affinity(column.getType()));
+            if (keys.size() == 1 && column.isPrimaryKey()) sb.append(" PRIMARY KEY");
+            if (column.isUnique() && !column.isPrimaryKey()) sb.append(" UNIQUE");
+        }
+        if (keys.size() > 1) {
+            sb.append(", PRIMARY KEY (").append(String.join(", ", keys)).append(')');
+        }
+        return sb.append(");").toString();
+    }
+
+    /**
+     * @param type java.sql.Types type of a column
+     * @return the SQLite type declaring the same affinity
+     */
+    static String affinity(int type) {
+        switch (type) {
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+            case Types.BIGINT:
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return "INTEGER";
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return "REAL";
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return "NUMERIC";
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return "BLOB";
+            default:
+                return "TEXT";
+        }
+    }
+
+    /**
+     * @return the CREATE TABLE statement of every table followed by the CREATE INDEX statement of every index
+     */
+    public List<String> createStatements() {
+        final List<String> statements = new ArrayList<>();
+        for (String table : tables.keySet()) {
+            statements.add(createTable(table));
+        }
+        for (IndexDefinition index : indexes.values()) {
+            statements.add(index.createStatement());
+        }
+        return statements;
+    }
+
+    /**
+     * @return every create statement in one string, for a dbOnCreateQuery run as a script. Otherwise call
+     * {@link #sync(Handler)} once the connection is started, it creates the tables too
+     */
+    public String toSql() {
+        return String.join("\n", createStatements());
+    }
+
+    /**
+     * Compares the declared tables and indexes with the ones in sqlite_master.
+     *
+     * @param handler handler of the database
+     * @return the create statement of every declared table and index the database does not have
+     */
+    @SuppressWarnings("deprecation")
+    public List<String> missing(Handler handler) throws SQLiteGdxException {
+        final Set<String> tableNames = new HashSet<>();
+        final Set<String> indexNames = new HashSet<>();
+        final DatabaseCursor cursor = handler.db().rawQuery("SELECT type, name FROM sqlite_master"
+            + " WHERE type IN ('table', 'index');");
+        try {
+            while (cursor.next()) {
+                final String name = cursor.getString(1).toLowerCase(Locale.ROOT);
+                ("table".equals(cursor.getString(0)) ? tableNames : indexNames).add(name);
+            }
+        } finally {
+            cursor.close();
+        }
+        final List<String> statements = new ArrayList<>();
+        for (String table : tables.keySet()) {
+            if (!tableNames.contains(table.toLowerCase(Locale.ROOT))) statements.add(createTable(table));
+        }
+        for (Map.Entry<String, IndexDefinition> index : indexes.entrySet()) {
+            if (!indexNames.contains(index.getKey())) statements.add(index.getValue().createStatement());
+        }
+        return statements;
+    }
+
+    /**
+     * Creates the declared tables and indexes the database does not have, in one transaction. Run at startup so that
+     * an index declared in a new version of the game reaches databases created by an older one.
+     *
+     * @param handler handler of the database
+     * @return the statements that were run, empty when the schema was up to date
+     * @throws SQLiteGdxException if a statement failed, nothing is created in that case
+     */
+    @SuppressWarnings("deprecation")
+    public List<String> sync(Handler handler) throws SQLiteGdxException, SQLException {
+        final List<String> statements = missing(handler);
+        if (statements.isEmpty()) return statements;
+        handler.inTransaction(TransactionMode.IMMEDIATE, h -> {
+            for (String sql : statements) {
+                h.db().execSQL(sql);
+            }
+            return null;
+        });
+        return statements;
+    }
+}
@@ -0,0 +1,19 @@
+/**<p>*********************************************************************************************************************
+ * <h1>SqliteLimits</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+public class SqliteLimits {
+    /** SQLITE_MAX_VARIABLE_NUMBER before SQLite 3.32, still the limit of older Android releases. */
+    public static final int MAX_VARIABLE_NUMBER = 999;
+
+}
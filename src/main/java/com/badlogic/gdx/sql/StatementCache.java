@@ -0,0 +1,207 @@
+/**<p>*********************************************************************************************************************
+ * <h1>StatementCache</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Bounded LRU cache of PreparedStatements for one JDBC connection
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the prepared statements of one JDBC connection keyed by their SQL text, so that running the same builder
+ * statement again skips SQLite's prepare step. The cache is bounded, the least recently used statement is evicted
+ * and closed once the capacity is reached. Statements are only used while holding the lock of the cache.
+ * <p>
+ * A query whose statement still has an open result set (a cursor that was not closed yet) runs on a new statement
+ * that is closed together with its result set, so open cursors are never invalidated by the cache.
+ */
+public class StatementCache implements Closeable {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Work done with a statement of the cache, typically binding its parameters and executing it.
+     *
+     * @param <R> result of the work
+     */
+    @FunctionalInterface
+    public interface Work<R> {
+        R run(PreparedStatement ps) throws SQLException;
+    }
+
+    private static final class Entry {
+        final PreparedStatement ps;
+        WeakReference<ResultSet> resultSet;
+
+        Entry(final PreparedStatement ps) {
+            this.ps = ps;
+        }
+
+        boolean hasOpenResultSet() throws SQLException {
+            final ResultSet rs = resultSet == null ? null : resultSet.get();
+            return rs != null && !rs.isClosed();
+        }
+    }
+
+    private final Connection connection;
+    private final int capacity;
+    private final LinkedHashMap<String, Entry> statements;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param connection connection the statements are prepared on
+     * @param capacity maximum number of statements kept open
+     */
+    public StatementCache(final Connection connection, final int capacity) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @return the connection the statements are prepared on
+     */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Runs work with the cached statement for sql, preparing it on a miss.
+     *
+     * @param sql the SQL statement
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}
+     * @param work work to do with the statement
+     * @return the result of work
+     * @throws SQLException if the statement can not be prepared or the work failed
+     */
+    public synchronized <R> R execute(final String sql, final int autoGeneratedKeys, final Work<R> work) throws SQLException {
+        return work.run(entry(sql, autoGeneratedKeys).ps);
+    }
+
+    /**
+     * Binds and executes the cached query statement for sql. The result set stays valid until it is closed, even
+     * when the same query is executed again in the meantime.
+     *
+     * @param sql the SELECT statement
+     * @param binder binds the parameters of the statement
+     * @return the result of the query
+     * @throws SQLException if the statement can not be prepared or executed
+     */
+    public synchronized ResultSet executeQuery(final String sql, final Work<?> binder) throws SQLException {
+        final Entry entry = entry(sql, Statement.NO_GENERATED_KEYS);
+        if (entry.hasOpenResultSet()) {
+            final PreparedStatement ps = connection.prepareStatement(sql);
+            try {
+                binder.run(ps);
+                ps.closeOnCompletion();
+                return ps.executeQuery();
+            } catch (SQLException | RuntimeException e) {
+                ps.close();
+                throw e;
+            }
+        }
+        binder.run(entry.ps);
+        final ResultSet rs = entry.ps.executeQuery();
+        entry.resultSet = new WeakReference<>(rs);
+        return rs;
+    }
+
+    private Entry entry(final String sql, final int autoGeneratedKeys) throws SQLException {
+        final String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? sql + "\u0000keys" : sql;
+        Entry entry = statements.get(key);
+        if (entry != null) {
+            hits++;
+            return entry;
+        }
+        misses++;
+        entry = new Entry(connection.prepareStatement(sql, autoGeneratedKeys));
+        statements.put(key, entry);
+        evict();
+        return entry;
+    }
+
+    private void evict() throws SQLException {
+        final Iterator<Map.Entry<String, Entry>> it = statements.entrySet().iterator();
+        while (statements.size() > capacity && it.hasNext()) {
+            final Entry eldest = it.next().getValue();
+            it.remove();
+            evictions++;
+            release(eldest);
+        }
+    }
+
+    private static void release(final Entry entry) throws SQLException {
+        if (entry.hasOpenResultSet()) {
+            entry.ps.closeOnCompletion();
+        } else {
+            entry.ps.close();
+        }
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * @return hits divided by lookups, 0 before the first lookup
+     */
+    public synchronized double hitRate() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Closes and removes all statements, the counters are kept. */
+    public synchronized void clear() {
+        for (final Entry entry : statements.values()) {
+            try {
+                release(entry);
+            } catch (SQLException ignored) {}
+        }
+        statements.clear();
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "StatementCache[size=" + statements.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses
+            + ", evictions=" + evictions + "]";
+    }
+}
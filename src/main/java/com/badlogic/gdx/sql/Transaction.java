@@ -0,0 +1,24 @@
+/**<p>*********************************************************************************************************************
+ * <h1>Transaction</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+/**
+ * Work run by {@link Handler#inTransaction(TransactionMode, Transaction)}. Everything done through the handler
+ * inside run is committed together, or rolled back if run throws.
+ *
+ * @param <T> result of the work
+ */
+@FunctionalInterface
+public interface Transaction<T> {
+    T run(Handler handler) throws Exception;
+}
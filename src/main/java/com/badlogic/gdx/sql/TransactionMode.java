@@ -0,0 +1,25 @@
+/**<p>*********************************************************************************************************************
+ * <h1>TransactionMode</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+/**
+ * How an outermost transaction takes its locks, see https://www.sqlite.org/lang_transaction.html
+ */
+public enum TransactionMode {
+    /** Locks are taken on the first read or write. */
+    DEFERRED,
+    /** The write lock is taken when the transaction begins, other connections can still read. */
+    IMMEDIATE,
+    /** Like IMMEDIATE, in rollback journal mode other connections can not read either. */
+    EXCLUSIVE
+}
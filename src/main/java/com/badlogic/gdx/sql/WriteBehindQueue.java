@@ -0,0 +1,291 @@
+/**<p>*********************************************************************************************************************
+ * <h1>WriteBehindQueue</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Buffers insert, update and delete builders, flushed in one transaction
+ *           Conditions part of the coalescing key of updates
+ *           Queues upserts
+ *           Updates holding an Expression never coalesced
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * E528: Write-behind flush failed, %d statements kept for the next flush
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.sql.builder.Column;
+import com.badlogic.gdx.sql.builder.Condition;
+import com.badlogic.gdx.sql.builder.Expression;
+import com.badlogic.gdx.sql.builder.SqlBuilderDelete;
+import com.badlogic.gdx.sql.builder.SqlBuilderInsert;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpdate;
+import com.badlogic.gdx.sql.builder.SqlBuilderUpsert;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind layer in front of a {@link Handler} for frequent small writes (positions, stats, flags). Insert, upsert,
+ * update and delete builders are queued instead of hitting the disk and the queue is written in one transaction
+ * every interval, once it holds maxPending statements, or when {@link #flush()} is called (on pause and dispose).
+ * <p>
+ * Statements are written in the order they were queued, so the order per table is kept. An update is coalesced
+ * with a queued update of the same table, columns and where clauses by replacing its values, unless a statement
+ * queued in between could observe the difference: an insert, upsert or delete on the table, or an update writing one of
+ * the columns or filtering on them. An update holding an {@link Expression} (an increment for instance) is never
+ * coalesced, as replacing it would drop its change.
+ * <p>
+ * A builder must not be changed after it was queued.
+ */
+public class WriteBehindQueue implements Closeable {
+    private static final String TAG = WriteBehindQueue.class.getCanonicalName();
+    private static final String E528 = "Write-behind flush failed, %d statements kept for the next flush";
+
+    private enum Kind { INSERT, UPSERT, UPDATE, DELETE }
+
+    private static final class Op {
+        final Kind kind;
+        final String table;
+        final String key;
+        final Set<String> written;
+        final Set<String> filtered;
+        Object builder;
+
+        Op(Kind kind, String table, String key, Set<String> written, Set<String> filtered, Object builder) {
+            this.kind = kind;
+            this.table = table;
+            this.key = key;
+            this.written = written;
+            this.filtered = filtered;
+            this.builder = builder;
+        }
+    }
+
+    private final Handler handler;
+    private final int maxPending;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private List<Op> pending = new ArrayList<>();
+    /** Position in pending of the last queued update for each coalescing key. */
+    private final Map<String, Integer> updates = new HashMap<>();
+    private boolean flushScheduled;
+    private long queued;
+    private long coalesced;
+    private long written;
+
+    /**
+     * @param handler handler the statements are written through
+     * @param intervalMillis time between two automatic flushes, 0 or less to only flush on size or explicitly
+     * @param maxPending number of queued statements that triggers a flush
+     */
+    public WriteBehindQueue(Handler handler, long intervalMillis, int maxPending) {
+        this.handler = handler;
+        this.maxPending = maxPending;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "gdx-sqlite-write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        if (intervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void insert(SqlBuilderInsert builder) {
+        add(new Op(Kind.INSERT, builder.getTable(), null, names(builder.getValues()), null, builder));
+    }
+
+    public void upsert(SqlBuilderUpsert builder) {
+        add(new Op(Kind.UPSERT, builder.getTable(), null, names(builder.getValues()), null, builder));
+    }
+
+    public void update(SqlBuilderUpdate builder) {
+        Set<String> written = names(builder.getValues());
+        Set<String> filtered = names(builder.getClauses());
+        StringBuilder key = new StringBuilder(builder.getTable()).append('|').append(new TreeSet<>(written)).append('|');
+        for (Map.Entry<Column, Object> clause : builder.getClauses().entrySet()) {
+            key.append(clause.getKey().getName()).append('=').append(clause.getValue()).append(',');
+        }
+        for (Condition condition : builder.getConditions()) {
+            filtered.addAll(condition.getColumnNames());
+            key.append(condition).append(',');
+        }
+        boolean computed = builder.getValues().values().stream().anyMatch(v -> v instanceof Expression);
+        add(new Op(Kind.UPDATE, builder.getTable(), computed ? null : key.toString(), written, filtered, builder));
+    }
+
+    public void delete(SqlBuilderDelete builder) {
+        Set<String> filtered = names(builder.getClauses());
+        for (Condition condition : builder.getConditions()) {
+            filtered.addAll(condition.getColumnNames());
+        }
+        add(new Op(Kind.DELETE, builder.getTable(), null, null, filtered, builder));
+    }
+
+    private void add(Op op) {
+        boolean flush;
+        synchronized (this) {
+            queued++;
+            if (op.key != null && coalesce(op)) {
+                coalesced++;
+                return;
+            }
+            pending.add(op);
+            if (op.key != null) updates.put(op.key, pending.size() - 1);
+            flush = pending.size() >= maxPending && !flushScheduled;
+            if (flush) flushScheduled = true;
+        }
+        if (flush) scheduler.execute(this::flushQuietly);
+    }
+
+    /** Replaces the values of a queued update with the same key if nothing queued since depends on them. */
+    private boolean coalesce(Op op) {
+        Integer index = updates.get(op.key);
+        if (index == null) return false;
+        for (int i = index + 1; i < pending.size(); i++) {
+            Op later = pending.get(i);
+            if (!later.table.equals(op.table)) continue;
+            if (later.kind != Kind.UPDATE) return false;
+            if (intersects(later.written, op.written) || intersects(later.filtered, op.written)
+                || intersects(later.written, op.filtered)) return false;
+        }
+        pending.get(index).builder = op.builder;
+        return true;
+    }
+
+    /**
+     * Writes every queued statement in one transaction. When writing fails the statements stay queued, ahead of
+     * the ones queued in the meantime, and the exception is thrown.
+     * @return number of statements written
+     */
+    public int flush() throws SQLiteGdxException, SQLException {
+        flushLock.lock();
+        try {
+            final List<Op> batch;
+            synchronized (this) {
+                flushScheduled = false;
+                if (pending.isEmpty()) return 0;
+                batch = pending;
+                pending = new ArrayList<>();
+                updates.clear();
+            }
+            try {
+                handler.inTransaction(TransactionMode.IMMEDIATE, h -> {
+                    for (Op op : batch) {
+                        switch (op.kind) {
+                            case INSERT:
+                                h.insert((SqlBuilderInsert) op.builder);
+                                break;
+                            case UPSERT:
+                                h.upsert((SqlBuilderUpsert) op.builder);
+                                break;
+                            case UPDATE:
+                                h.update((SqlBuilderUpdate) op.builder);
+                                break;
+                            case DELETE:
+                                h.delete((SqlBuilderDelete) op.builder);
+                                break;
+                        }
+                    }
+                    return null;
+                });
+            } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+                synchronized (this) {
+                    batch.addAll(pending);
+                    pending = batch;
+                    updates.clear();
+                    for (int i = 0; i < pending.size(); i++) {
+                        if (pending.get(i).key != null) updates.put(pending.get(i).key, i);
+                    }
+                }
+                throw e;
+            }
+            synchronized (this) {
+                written += batch.size();
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLiteGdxException | SQLException | RuntimeException e) {
+            Gdx.app.error(TAG, String.format(E528, pending()) + " : " + e);
+        }
+    }
+
+    /** @return number of statements waiting to be written */
+    public synchronized int pending() {
+        return pending.size();
+    }
+
+    /** @return number of statements queued so far */
+    public synchronized long queuedCount() {
+        return queued;
+    }
+
+    /** @return number of queued updates merged into an update that was already queued */
+    public synchronized long coalescedCount() {
+        return coalesced;
+    }
+
+    /** @return number of statements written to the database so far */
+    public synchronized long writtenCount() {
+        return written;
+    }
+
+    /** Drops every queued statement without writing it. */
+    public synchronized void clear() {
+        pending.clear();
+        updates.clear();
+    }
+
+    /**
+     * Stops the automatic flushes and writes what is still queued, failures are logged.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    private static Set<String> names(Map<Column, Object> columns) {
+        Set<String> names = new HashSet<>(columns.size() * 2);
+        for (Column column : columns.keySet()) {
+            names.add(column.getName());
+        }
+        return names;
+    }
+
+    private static boolean intersects(Set<String> a, Set<String> b) {
+        if (a == null || b == null) return false;
+        for (String name : a) {
+            if (b.contains(name)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,314 @@
+/**<p>*********************************************************************************************************************
+ * <h1>AsmResultMapper</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           ResultMapper backed by a class generated with ASM per entity type
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ResultMapper that generates a small class per entity type at runtime. The generated class creates the object and
+ * writes every public field directly with the matching typed getter of the ResultSet (getInt, getString...), so
+ * rows are mapped without Field.set and without boxing through getObject.
+ * <p>
+ * Fields are matched by column name, like {@link ClassResultMapper}. The class has to be public with a public
+ * no-arg constructor. When it is not, or when classes can not be defined at runtime (Android), this mapper falls
+ * back to a {@link ClassResultMapper}.
+ */
+public class AsmResultMapper<T> implements ResultMapper<T> {
+
+    /**
+     * Implemented by the generated classes, public only so that they can see it.
+     *
+     * @param <T> type of the mapped object
+     */
+    public interface RowWriter<T> {
+        /**
+         * @param rs result set positioned on the row to map
+         * @param columns JDBC column index for each mapped field, 0 when the result set has no such column
+         * @return the mapped object
+         */
+        T map(ResultSet rs, int[] columns) throws SQLException;
+    }
+
+    private static final Map<Class<?>, Generated<?>> GENERATED = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, int[]>> COLUMNS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static final String RS = Type.getInternalName(ResultSet.class);
+    private static final String SELF = Type.getInternalName(AsmResultMapper.class);
+
+    private final Generated<T> generated;
+    private final ShapeCache<int[]> columns;
+    private final ShapeCache.Compiler<int[]> compiler;
+    private final ResultMapper<T> fallback;
+
+    @SuppressWarnings("unchecked")
+    public AsmResultMapper(final Class<T> tClass) {
+        Generated<T> g = null;
+        if (isSupported(tClass)) {
+            try {
+                g = (Generated<T>) GENERATED.computeIfAbsent(tClass, AsmResultMapper::generate);
+            } catch (RuntimeException | LinkageError e) {
+                g = null;
+            }
+        }
+        this.generated = g;
+        this.fallback = g == null ? new ClassResultMapper<>(tClass) : null;
+        this.columns = g == null ? null : new ShapeCache<>(COLUMNS.computeIfAbsent(tClass, k -> new ConcurrentHashMap<>()));
+        this.compiler = g == null ? null : this::columnIndexes;
+    }
+
+    /**
+     * @return true if rows are mapped by a generated class, false if the reflective fallback is used
+     */
+    public boolean isGenerated() {
+        return generated != null;
+    }
+
+    @Override
+    public T map(final ResultSet rs) throws SQLException {
+        if (generated == null) {
+            return fallback.map(rs);
+        }
+        return generated.writer.map(rs, columns.get(rs, compiler));
+    }
+
+    private int[] columnIndexes(final ResultSetMetaData metaData) throws SQLException {
+        final String[] fields = generated.fields;
+        final int[] indexes = new int[fields.length];
+        final int columnCount = metaData.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            final String label = metaData.getColumnLabel(i);
+            for (int f = 0; f < fields.length; f++) {
+                if (indexes[f] == 0 && fields[f].equals(label)) {
+                    indexes[f] = i;
+                    break;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /* Boxed reads used by the generated code, wasNull keeps SQL NULL as null. */
+
+    public static Integer readInteger(final ResultSet rs, final int column) throws SQLException {
+        final int v = rs.getInt(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    public static Long readLong(final ResultSet rs, final int column) throws SQLException {
+        final long v = rs.getLong(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    public static Double readDouble(final ResultSet rs, final int column) throws SQLException {
+        final double v = rs.getDouble(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    public static Float readFloat(final ResultSet rs, final int column) throws SQLException {
+        final float v = rs.getFloat(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    public static Short readShort(final ResultSet rs, final int column) throws SQLException {
+        final short v = rs.getShort(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    public static Byte readByte(final ResultSet rs, final int column) throws SQLException {
+        final byte v = rs.getByte(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    public static Boolean readBoolean(final ResultSet rs, final int column) throws SQLException {
+        final boolean v = rs.getBoolean(column);
+        return rs.wasNull() ? null : v;
+    }
+
+    private static boolean isSupported(final Class<?> tClass) {
+        if (!Modifier.isPublic(tClass.getModifiers()) || tClass.isInterface() || Modifier.isAbstract(tClass.getModifiers())) {
+            return false;
+        }
+        try {
+            return Modifier.isPublic(tClass.getConstructor().getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static final class Generated<T> {
+        final RowWriter<T> writer;
+        final String[] fields;
+
+        Generated(final RowWriter<T> writer, final String[] fields) {
+            this.writer = writer;
+            this.fields = fields;
+        }
+    }
+
+    /** Defines the generated classes, falls back to the loader of this library for the library types. */
+    private static final class GeneratedClassLoader extends ClassLoader {
+        GeneratedClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            try {
+                return super.loadClass(name, resolve);
+            } catch (ClassNotFoundException e) {
+                return AsmResultMapper.class.getClassLoader().loadClass(name);
+            }
+        }
+
+        Class<?> define(final String name, final byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Generated<T> generate(final Class<T> tClass) {
+        final List<Field> fields = new ArrayList<>();
+        for (final Field field : tClass.getFields()) {
+            final int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && isMappable(field.getType())) {
+                fields.add(field);
+            }
+        }
+
+        final String name = SELF + "$" + tClass.getSimpleName() + "RowWriter" + SEQUENCE.incrementAndGet();
+        final String owner = Type.getInternalName(tClass);
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(final String type1, final String type2) {
+                return "java/lang/Object";
+            }
+        };
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, name, null,
+            "java/lang/Object", new String[]{Type.getInternalName(RowWriter.class)});
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // locals: 0 this, 1 rs, 2 columns, 3 mapped object, 4 column index
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "map", "(L" + RS + ";[I)Ljava/lang/Object;", null,
+            new String[]{Type.getInternalName(SQLException.class)});
+        mv.visitCode();
+        mv.visitTypeInsn(Opcodes.NEW, owner);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, owner, "<init>", "()V", false);
+        mv.visitVarInsn(Opcodes.ASTORE, 3);
+        for (int f = 0; f < fields.size(); f++) {
+            final Field field = fields.get(f);
+            final Label skip = new Label();
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitLdcInsn(f);
+            mv.visitInsn(Opcodes.IALOAD);
+            mv.visitVarInsn(Opcodes.ISTORE, 4);
+            mv.visitVarInsn(Opcodes.ILOAD, 4);
+            mv.visitJumpInsn(Opcodes.IFEQ, skip);
+            mv.visitVarInsn(Opcodes.ALOAD, 3);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitVarInsn(Opcodes.ILOAD, 4);
+            read(mv, field.getType());
+            mv.visitFieldInsn(Opcodes.PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+            mv.visitLabel(skip);
+        }
+        mv.visitVarInsn(Opcodes.ALOAD, 3);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        final GeneratedClassLoader loader = new GeneratedClassLoader(tClass.getClassLoader());
+        final Class<?> writerClass = loader.define(name.replace('/', '.'), cw.toByteArray());
+        final String[] fieldNames = new String[fields.size()];
+        for (int f = 0; f < fieldNames.length; f++) {
+            fieldNames[f] = fields.get(f).getName();
+        }
+        try {
+            return new Generated<>((RowWriter<T>) writerClass.getConstructor().newInstance(), fieldNames);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Can't generate row mapper for type: " + tClass.getSimpleName(), e);
+        }
+    }
+
+    private static boolean isMappable(final Class<?> type) {
+        return type != char.class;
+    }
+
+    /** Emits the call that reads the column at the index on the stack, leaving a value of the given type. */
+    private static void read(final MethodVisitor mv, final Class<?> type) {
+        if (type == int.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getInt", "(I)I", true);
+        } else if (type == long.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getLong", "(I)J", true);
+        } else if (type == double.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getDouble", "(I)D", true);
+        } else if (type == float.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getFloat", "(I)F", true);
+        } else if (type == short.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getShort", "(I)S", true);
+        } else if (type == byte.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getByte", "(I)B", true);
+        } else if (type == boolean.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getBoolean", "(I)Z", true);
+        } else if (type == String.class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getString", "(I)Ljava/lang/String;", true);
+        } else if (type == byte[].class) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getBytes", "(I)[B", true);
+        } else if (type == Integer.class) {
+            readBoxed(mv, "readInteger", type);
+        } else if (type == Long.class) {
+            readBoxed(mv, "readLong", type);
+        } else if (type == Double.class) {
+            readBoxed(mv, "readDouble", type);
+        } else if (type == Float.class) {
+            readBoxed(mv, "readFloat", type);
+        } else if (type == Short.class) {
+            readBoxed(mv, "readShort", type);
+        } else if (type == Byte.class) {
+            readBoxed(mv, "readByte", type);
+        } else if (type == Boolean.class) {
+            readBoxed(mv, "readBoolean", type);
+        } else {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RS, "getObject", "(I)Ljava/lang/Object;", true);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+        }
+    }
+
+    private static void readBoxed(final MethodVisitor mv, final String method, final Class<?> type) {
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, SELF, method, "(L" + RS + ";I)" + Type.getDescriptor(type), false);
+    }
+}
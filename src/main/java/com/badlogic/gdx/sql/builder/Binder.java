@@ -0,0 +1,204 @@
+/**<p>*********************************************************************************************************************
+ * <h1>Binder</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Typed binding of statement parameters driven by Column.getType()
+ *           BlobStream values bound as binary streams
+ *           Integer types bound as long, NUMERIC and DECIMAL without going through double
+ *           streams of unknown length read into one array, the only stream binding sqlite-jdbc supports is sized by an int
+ *           Integer types bind only integral values as long, fractional numbers keep their fraction
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Binds parameter values on a JDBC statement with the setter matching the java.sql.Types type of their column, and
+ * turns them into the String arguments Android expects.
+ */
+final class Binder {
+
+    private Binder() {}
+
+    /**
+     * Binds values to parameters 1..n of the statement.
+     *
+     * @param ps statement to bind on
+     * @param types java.sql.Types type of each parameter
+     * @param values value of each parameter
+     * @throws SQLException if a value can not be bound
+     */
+    static void bind(final PreparedStatement ps, final int[] types, final Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            bind(ps, i + 1, types[i], values[i]);
+        }
+    }
+
+    /**
+     * Binds values to parameters 1..n of the statement, the type of each parameter being taken from its column.
+     *
+     * @param ps statement to bind on
+     * @param columns column of each parameter
+     * @param values value of each parameter
+     * @throws SQLException if a value can not be bound
+     */
+    static void bind(final PreparedStatement ps, final List<Column> columns, final List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            bind(ps, i + 1, columns.get(i).getType(), values.get(i));
+        }
+    }
+
+    static void bind(final PreparedStatement ps, final int index, final int type, final Object value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, type);
+            return;
+        }
+        if (value instanceof BlobStream) {
+            bindStream(ps, index, (BlobStream) value);
+            return;
+        }
+        switch (type) {
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+            case Types.BIGINT:
+                // SQLite integers are 64-bit whatever the declared type, an int would truncate rowids and counters
+                if (integral(value)) {
+                    ps.setLong(index, ((Number) value).longValue());
+                    return;
+                }
+                // anything else is left to column affinity, which keeps 1.5 as REAL instead of truncating it to 1
+                if (value instanceof BigInteger) {
+                    ps.setBigDecimal(index, new BigDecimal((BigInteger) value));
+                    return;
+                }
+                if (value instanceof BigDecimal) {
+                    ps.setBigDecimal(index, (BigDecimal) value);
+                    return;
+                }
+                if (value instanceof Double || value instanceof Float) {
+                    ps.setDouble(index, ((Number) value).doubleValue());
+                    return;
+                }
+                break;
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                if (value instanceof Number) {
+                    ps.setDouble(index, ((Number) value).doubleValue());
+                    return;
+                }
+                break;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                if (value instanceof BigDecimal) {
+                    ps.setBigDecimal(index, (BigDecimal) value);
+                    return;
+                }
+                if (value instanceof BigInteger) {
+                    ps.setBigDecimal(index, new BigDecimal((BigInteger) value));
+                    return;
+                }
+                if (integral(value)) {
+                    ps.setLong(index, ((Number) value).longValue());
+                    return;
+                }
+                break;
+            case Types.BOOLEAN:
+            case Types.BIT:
+                if (value instanceof Boolean) {
+                    ps.setBoolean(index, (Boolean) value);
+                    return;
+                }
+                break;
+            case Types.VARCHAR:
+            case Types.CHAR:
+            case Types.LONGVARCHAR:
+            case Types.NVARCHAR:
+            case Types.NCHAR:
+                ps.setString(index, value.toString());
+                return;
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                if (value instanceof byte[]) {
+                    ps.setBytes(index, (byte[]) value);
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        ps.setObject(index, value);
+    }
+
+    /** @return true if value is an integer that fits a long without losing anything */
+    private static boolean integral(final Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+            || value instanceof BigInteger && ((BigInteger) value).bitLength() < Long.SIZE;
+    }
+
+    private static void bindStream(final PreparedStatement ps, final int index, final BlobStream blob) throws SQLException {
+        final byte[] array = blob.array();
+        if (array != null) {
+            ps.setBytes(index, array);
+        } else if (blob.length() < 0) {
+            ps.setBytes(index, readAll(blob.stream()));
+        } else if (blob.length() <= Integer.MAX_VALUE) {
+            ps.setBinaryStream(index, blob.stream(), (int) blob.length());
+        } else {
+            throw new SQLException("BLOB parameter " + index + " of " + blob.length() + " bytes, more than the "
+                + Integer.MAX_VALUE + " bytes a BLOB can hold");
+        }
+    }
+
+    /**
+     * Reads a stream of unknown length, sqlite-jdbc does not support setBinaryStream without an int length.
+     *
+     * @return the content of stream, read in chunks
+     */
+    private static byte[] readAll(final InputStream stream) throws SQLException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[8192];
+        try {
+            int read;
+            while ((read = stream.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            throw new SQLException("Unable to read a BLOB parameter", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param values value of each parameter
+     * @return the values as the String arguments of an Android query
+     */
+    static String[] args(final Object[] values) {
+        final String[] args = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                throw new IllegalArgumentException("Android query arguments can not be null, parameter: " + (i + 1));
+            }
+            args[i] = values[i] instanceof Boolean ? ((Boolean) values[i] ? "1" : "0") : values[i].toString();
+        }
+        return args;
+    }
+}
@@ -0,0 +1,124 @@
+/**<p>*********************************************************************************************************************
+ * <h1>BlobStream</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           BLOB parameter value read from a stream or a ByteBuffer while binding
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Value of a BLOB parameter that is handed to the driver as a stream when the statement is bound, with its length
+ * when it is known. sqlite-jdbc copies the stream into an array of its own while binding, a stream of unknown length
+ * is read into one array before. Created by {@link SqlBuilderInsert#blob(Column, InputStream, long)},
+ * {@link SqlBuilderUpdate#blob(Column, ByteBuffer)} and their overloads.
+ * <p>
+ * A stream can only be read once: a statement holding a BlobStream is executed once. A ByteBuffer is read from its
+ * position to its limit without moving them, so it can be bound again.
+ */
+public final class BlobStream {
+    private final InputStream stream;
+    private final ByteBuffer buffer;
+    private final long length;
+
+    private BlobStream(final InputStream stream, final ByteBuffer buffer, final long length) {
+        this.stream = stream;
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * @param stream the content of the BLOB
+     * @param length number of bytes to read from stream, -1 when unknown
+     * @return the value
+     */
+    public static BlobStream of(final InputStream stream, final long length) {
+        return new BlobStream(stream, null, length);
+    }
+
+    /**
+     * @param buffer the content of the BLOB, from its position to its limit, heap or direct
+     * @return the value
+     */
+    public static BlobStream of(final ByteBuffer buffer) {
+        return new BlobStream(null, buffer, buffer.remaining());
+    }
+
+    /**
+     * @return number of bytes of the BLOB, -1 when unknown
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return the whole backing array when the value is a heap buffer covering all of it, so it can be bound without
+     * a copy, null otherwise
+     */
+    byte[] array() {
+        if (buffer == null || !buffer.hasArray() || buffer.arrayOffset() != 0 || buffer.position() != 0
+            || buffer.remaining() != buffer.array().length) {
+            return null;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @return the content as a stream, a new stream over the buffer for a ByteBuffer value
+     */
+    InputStream stream() {
+        return stream != null ? stream : new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public String toString() {
+        return "BlobStream[" + (length < 0 ? "?" : length) + " bytes]";
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**<p>*********************************************************************************************************************
+ * <h1>Chunks</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Splits a statement over the parameter limit into one statement per chunk of its largest IN list
+ *           splitIndex tells which IN list a split replaces
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Splits the statement of a builder whose parameters exceed the limit of SQLite. The largest IN list of the
+ * conditions joined with AND is replaced in turn by chunks of its values small enough for the rest of the
+ * parameters to fit, and the statement is rendered once per chunk. Running every rendered statement gives the
+ * union of the rows the whole statement would match.
+ */
+final class Chunks {
+
+    /** A statement and its parameters. */
+    static final class Bound {
+        final String sql;
+        final List<Column> columns;
+        final List<Object> values;
+
+        Bound(final String sql, final List<Column> columns, final List<Object> values) {
+            this.sql = sql;
+            this.columns = columns;
+            this.values = values;
+        }
+    }
+
+    private Chunks() {}
+
+    /**
+     * @param conditions the conditions of the builder, changed during the call and restored before it returns
+     * @param parameterCount number of parameters of the whole statement
+     * @param maxParameters maximum number of parameters of one statement
+     * @param render renders the statement of the builder with its current conditions
+     * @return one rendered statement, or one per chunk when parameterCount is over maxParameters
+     * @throws IllegalStateException if there is no IN list that can be split or the other parameters do not fit
+     */
+    static <R> List<R> split(final List<Condition> conditions, final int parameterCount, final int maxParameters,
+                             final Supplier<R> render) {
+        if (parameterCount <= maxParameters) {
+            return Collections.singletonList(render.get());
+        }
+        final int index = splitIndex(conditions);
+        if (index < 0) {
+            throw new IllegalStateException("Statement has " + parameterCount + " parameters, more than "
+                + maxParameters + ", and no IN list to split");
+        }
+        final Condition.In in = (Condition.In) conditions.get(index);
+        final int room = maxParameters - (parameterCount - in.size());
+        if (room <= 0) {
+            throw new IllegalStateException("Statement has " + (parameterCount - in.size())
+                + " parameters besides its IN list, more than " + maxParameters);
+        }
+        final List<R> statements = new ArrayList<>((in.size() + room - 1) / room);
+        try {
+            for (int from = 0; from < in.size(); from += room) {
+                conditions.set(index, in.chunk(from, Math.min(in.size(), from + room)));
+                statements.add(render.get());
+            }
+        } finally {
+            conditions.set(index, in);
+        }
+        return statements;
+    }
+
+    /**
+     * @param conditions the conditions of a builder
+     * @return the index of the IN list {@link #split} replaces by its chunks, -1 if there is none
+     */
+    static int splitIndex(final List<Condition> conditions) {
+        int index = -1;
+        for (int i = 0; i < conditions.size(); i++) {
+            final Condition condition = conditions.get(i);
+            if (condition instanceof Condition.In && ((Condition.In) condition).splittable()
+                && (index < 0 || ((Condition.In) condition).size() > ((Condition.In) conditions.get(index)).size())) {
+                index = i;
+            }
+        }
+        return index;
+    }
+}
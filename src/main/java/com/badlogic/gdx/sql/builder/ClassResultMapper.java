@@ -8,6 +8,11 @@
  * 20230329  Modified methods to accept Android lower version:
  *           . getParameterCount to getConstructorParameterCount
  *           . setField: old switch function
+ * 20261017  Constructor, fields and typed setters resolved once per class and column shape
+ *           into a cached MappingPlan, rows only execute the plan
+ *           Classes without a no-arg constructor and records are mapped through their constructor
+ *           getParameterNames: lookup by local variable slot, "arg" names without debug symbols
+ *           getParameterNames: MethodParameters attribute (-parameters) read before the local variables (-g)
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  *
@@ -19,120 +24,59 @@ import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.LocalVariableNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.ParameterNode;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Types;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Simple ResultMapper to turn a DB row into an object of the supplied class. Loops over the returned
- * columns and tried to set values on fields that match any of the column names. Only works with simple
- * data types (integer, double, boolean, and string), anything else and it will attempt to set a generic
- * object on the field.
+ * Simple ResultMapper to turn a DB row into an object of the supplied class. The first row of a result
+ * set resolves which columns match a field of the class and how each one is set; that plan is cached per class and
+ * column shape and every following row only executes it.
+ * <p>
+ * Classes with a public no-arg constructor get their public fields set. Records, and classes that only have
+ * constructors with arguments, are created through their canonical (or widest public) constructor instead, binding
+ * each column to the constructor parameter with the same name. Parameter names come from the record components or
+ * from the class file, see {@link #getParameterNames(Constructor)}.
+ * <p>
+ * Fields only work with simple data types (integer, double, boolean, and string), anything else and it will
+ * attempt to set a generic object on the field. Constructor parameters are read with the getter matching their
+ * Java type.
  *
  * @author evanwht1@gmail.com
  */
 public class ClassResultMapper<T> implements ResultMapper<T> {
+    /** Mapping plans of every class, keyed by result set column shape. Shared by all mappers of a class. */
+    private static final Map<Class<?>, Map<String, MappingPlan<?>>> PLANS = new ConcurrentHashMap<>();
+
     private final Class<T> tClass;
+    private final ShapeCache<MappingPlan<T>> plans;
+    private final ShapeCache.Compiler<MappingPlan<T>> compiler;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public ClassResultMapper(final Class<T> tClass) {
         this.tClass = tClass;
+        this.plans = new ShapeCache<>((Map) PLANS.computeIfAbsent(tClass, k -> new ConcurrentHashMap<>()));
+        this.compiler = metaData -> MappingPlan.compile(tClass, metaData);
     }
 
     @Override
     public T map(final ResultSet rs) throws SQLException {
-        final Constructor<?> constructor = Arrays.stream(tClass.getConstructors())
-//            .filter(c ->  c.getParameterCount() == 0 )
-//            .filter(c ->  getCPCount(c) == 0 )
-            .filter(c ->  getConstructorParameterCount(c) == 0 )
-//            .filter(c -> {
-//                try {
-//                    return getConstructorParameterCount(c) == 0;
-//                } catch (IOException e) {
-//                    throw new RuntimeException(e);
-//                }
-//            })
-            .findAny()
-            .orElseThrow(() -> {
-                throw new RuntimeException("Can't instantiate instance of type: " + tClass.getSimpleName());
-            });
-        try {
-            final T o = (T) constructor.newInstance();
-            setAllFields(o, rs);
-            return o;
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("Can't instantiate instance of type: " + tClass.getSimpleName());
-        }
-    }
-    private int getConstructorParameterCount(Constructor<?> constructor) {
-        List<String> paramNames = null;
-        try {
-            paramNames = getParameterNames(constructor);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        if(paramNames==null) {
-            System.out.println("parameters: NONE ");
-            return 0;
-        }
-        System.out.println("parameters: "+paramNames);
-        return paramNames.size();
-    }
-    private void setAllFields(final T obj, final ResultSet rs) throws SQLException {
-        final int columnCount = rs.getMetaData().getColumnCount();
-        for (int i = 0; i < columnCount; i++) {
-            String columnName = rs.getMetaData().getColumnName(i);
-            try {
-                final Field field = tClass.getField(columnName);
-                final int columnType = rs.getMetaData().getColumnType(i);
-                setField(field, columnType, i, obj, rs);
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                // Silently move on
-            }
-        }
-    }
-
-    private void setField(final Field field, final int type, final int columnIndex, final T obj, final ResultSet rs) throws SQLException, IllegalAccessException {
-        switch (type) {
-            case Types.INTEGER:
-                field.setInt(obj, rs.getInt(columnIndex));
-                break;
-            case Types.DOUBLE:
-                field.setDouble(obj, rs.getDouble(columnIndex));
-                break;
-            case Types.BOOLEAN:
-                field.setBoolean(obj, rs.getBoolean(columnIndex));
-                break;
-            case Types.VARCHAR:
-                field.set(obj, rs.getString(columnIndex));
-                break;
-            default:
-                field.set(obj, rs.getObject(columnIndex));
-                break;
-        }
-//        switch (type) {
-//            case Types.INTEGER -> field.setInt(obj, rs.getInt(columnIndex));
-//            case Types.DOUBLE -> field.setDouble(obj, rs.getDouble(columnIndex));
-//            case Types.BOOLEAN -> field.setBoolean(obj, rs.getBoolean(columnIndex));
-//            case Types.VARCHAR -> field.set(obj, rs.getString(columnIndex));
-//            default -> field.set(obj, rs.getObject(columnIndex));
-//        }
+        return plans.get(rs, compiler).execute(rs);
     }
 
-
-
     /**
      * Returns a list containing one parameter name for each argument accepted
-     * by the given constructor. If the class was compiled with debugging
-     * symbols, the parameter names will match those provided in the Java source
-     * code. Otherwise, a generic "arg" parameter name is generated ("arg0" for
+     * by the given constructor. If the class was compiled with -parameters or
+     * with debugging symbols (-g), the parameter names will match those provided
+     * in the Java source code. Otherwise, a generic "arg" parameter name is generated ("arg0" for
      * the first argument, "arg1" for the second...).
      *
      * This method relies on the constructor's class loader to locate the
@@ -171,11 +115,17 @@ public class ClassResultMapper<T> implements ResultMapper<T> {
                 Type[] argumentTypes = Type.getArgumentTypes(method.desc);
                 List<String> parameterNames = new ArrayList<>(argumentTypes.length);
 
+                @SuppressWarnings("unchecked")
+                List<ParameterNode> parameters = method.parameters;
                 @SuppressWarnings("unchecked")
                 List<LocalVariableNode> localVariables = method.localVariables;
+                // The first local variable slot actually represents the "this" object
+                int slot = 1;
                 for (int i = 0; i < argumentTypes.length; i++) {
-                    // The first local variable actually represents the "this" object
-                    parameterNames.add(localVariables.get(i + 1).name);
+                    String name = parameterName(parameters, argumentTypes.length, i);
+                    parameterNames.add(name != null ? name : localVariableName(localVariables, slot, i));
+                    // long and double take two slots
+                    slot += argumentTypes[i].getSize();
                 }
 
                 return parameterNames;
@@ -184,5 +134,23 @@ public class ClassResultMapper<T> implements ResultMapper<T> {
 
         return null;
     }
-}
 
+    /** @return name of the argument from the MethodParameters attribute (-parameters), null if it has none */
+    private static String parameterName(List<ParameterNode> parameters, int arguments, int argument) {
+        if (parameters == null || parameters.size() != arguments) {
+            return null;
+        }
+        return parameters.get(argument).name;
+    }
+
+    private static String localVariableName(List<LocalVariableNode> localVariables, int slot, int argument) {
+        if (localVariables != null) {
+            for (LocalVariableNode localVariable : localVariables) {
+                if (localVariable.index == slot) {
+                    return localVariable.name;
+                }
+            }
+        }
+        return "arg" + argument;
+    }
+}
@@ -11,4 +11,27 @@ public interface Column {
      * @return the java.sql.Types type of the column
      */
     int getType();
+
+    /**
+     * @return true if the column is, or is part of, the primary key of its table, see
+     * {@link com.badlogic.gdx.sql.SchemaBuilder}
+     */
+    default boolean isPrimaryKey() {
+        return false;
+    }
+
+    /**
+     * @return true if no two rows may hold the same value in the column
+     */
+    default boolean isUnique() {
+        return false;
+    }
+
+    /**
+     * @return true if the column gets an index of its own, use an {@link IndexDefinition} for an index over several
+     * columns or a partial one
+     */
+    default boolean isIndexed() {
+        return false;
+    }
 }
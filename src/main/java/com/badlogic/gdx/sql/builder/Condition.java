@@ -0,0 +1,418 @@
+/**<p>*********************************************************************************************************************
+ * <h1>Condition</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Comparison, range, IN-list and OR predicates for the where of Select, Update and Delete
+ *           getEqualityColumns, the columns an index can search by equality
+ *           IN list duplicates found by numeric value, 1 and 1L being one value
+ *           column of an IN list readable by the builders
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A predicate of a where clause, added with the where(Condition) of {@link SqlBuilderSelect}, {@link SqlBuilderUpdate}
+ * and {@link SqlBuilderDelete}. The conditions of a builder are joined with AND, after the where(Column, Object)
+ * equality clauses. Every value is bound as a parameter with the type of its column.
+ * <pre>
+ * select.where(Condition.between(LEVEL, 3, 7))
+ *       .where(Condition.or(Condition.isNull(OWNER), Condition.eq(OWNER, player)))
+ *       .where(Condition.in(ID, ids));
+ * </pre>
+ * An IN list can hold more values than SQLite accepts parameters in one statement, the Handler then runs the
+ * statement once per chunk of the list, see {@link com.badlogic.gdx.sql.SqliteLimits}.
+ */
+public abstract class Condition {
+
+    Condition() {}
+
+    /** @return column = value, or column IS NULL when value is null */
+    public static Condition eq(final Column column, final Object value) {
+        return value == null ? isNull(column) : new Compare(column, "=", value);
+    }
+
+    /** @return column &lt;&gt; value, or column IS NOT NULL when value is null */
+    public static Condition ne(final Column column, final Object value) {
+        return value == null ? isNotNull(column) : new Compare(column, "<>", value);
+    }
+
+    /** @return column &lt; value */
+    public static Condition lt(final Column column, final Object value) {
+        return new Compare(column, "<", value);
+    }
+
+    /** @return column &lt;= value */
+    public static Condition le(final Column column, final Object value) {
+        return new Compare(column, "<=", value);
+    }
+
+    /** @return column &gt; value */
+    public static Condition gt(final Column column, final Object value) {
+        return new Compare(column, ">", value);
+    }
+
+    /** @return column &gt;= value */
+    public static Condition ge(final Column column, final Object value) {
+        return new Compare(column, ">=", value);
+    }
+
+    /** @return column LIKE pattern */
+    public static Condition like(final Column column, final String pattern) {
+        return new Compare(column, "LIKE", pattern);
+    }
+
+    /** @return column BETWEEN low AND high, both bounds included */
+    public static Condition between(final Column column, final Object low, final Object high) {
+        return new Between(column, low, high);
+    }
+
+    /** @return column IS NULL */
+    public static Condition isNull(final Column column) {
+        return new Null(column, false);
+    }
+
+    /** @return column IS NOT NULL */
+    public static Condition isNotNull(final Column column) {
+        return new Null(column, true);
+    }
+
+    /** @return column IN (values), always false for no value. Duplicate values are bound once. */
+    public static Condition in(final Column column, final Collection<?> values) {
+        return new In(column, distinct(values), false);
+    }
+
+    /** @return column IN (values), always false for no value. Duplicate values are bound once. */
+    public static Condition in(final Column column, final Object... values) {
+        return in(column, Arrays.asList(values));
+    }
+
+    /** @return column NOT IN (values), always true for no value. Never split in chunks. */
+    public static Condition notIn(final Column column, final Collection<?> values) {
+        return new In(column, distinct(values), true);
+    }
+
+    /**
+     * @return values without duplicates, in order. Numbers are compared by value as SQLite compares them, 1, 1L and
+     * 1.0 being one value: bound twice, they would match the same row twice once the list is split in chunks
+     */
+    private static List<Object> distinct(final Collection<?> values) {
+        final Set<Object> seen = new HashSet<>(values.size() * 2);
+        final List<Object> list = new ArrayList<>(values.size());
+        for (final Object value : values) {
+            if (seen.add(numericKey(value))) list.add(value);
+        }
+        return list;
+    }
+
+    /** @return a Long for a whole number, a Double for any other number, value itself when it is no number */
+    static Object numericKey(final Object value) {
+        if (!(value instanceof Number)) return value;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+            return ((BigInteger) value).longValue();
+        }
+        if (value instanceof BigDecimal) {
+            final BigDecimal decimal = (BigDecimal) value;
+            if (decimal.signum() == 0 || decimal.stripTrailingZeros().scale() <= 0 && decimal.toBigInteger().bitLength() < 64) {
+                return decimal.longValue();
+            }
+        }
+        final double d = ((Number) value).doubleValue();
+        final long l = (long) d;
+        if (l == d && l != Long.MAX_VALUE && l != Long.MIN_VALUE) return l;
+        return d;
+    }
+
+    /** @return every condition holds, in parentheses */
+    public static Condition and(final Condition... conditions) {
+        return new Group(" AND ", conditions);
+    }
+
+    /** @return at least one of the conditions holds, in parentheses */
+    public static Condition or(final Condition... conditions) {
+        return new Group(" OR ", conditions);
+    }
+
+    /** Appends the SQL of this condition, with a ? for each parameter. */
+    abstract void appendSql(StringBuilder sql);
+
+    /** Adds the column and value of each parameter, in the order of the ? of {@link #appendSql(StringBuilder)}. */
+    abstract void addParameters(List<Column> columns, List<Object> values);
+
+    /** Adds the name of each column the condition reads. */
+    abstract void addColumnNames(Set<String> names);
+
+    /** Adds the name of each column the condition holds to one value or an IN list of values. */
+    void addEqualityColumns(final Set<String> names) {
+    }
+
+    /**
+     * @return the SQL of this condition, with a ? for each parameter
+     */
+    public String toSql() {
+        final StringBuilder sql = new StringBuilder();
+        appendSql(sql);
+        return sql.toString();
+    }
+
+    /**
+     * @return the values bound to the parameters of {@link #toSql()}, in order
+     */
+    public List<Object> getValues() {
+        final List<Object> values = new ArrayList<>();
+        addParameters(new ArrayList<>(), values);
+        return values;
+    }
+
+    /**
+     * @return the names of the columns the condition reads
+     */
+    public Set<String> getColumnNames() {
+        final Set<String> names = new LinkedHashSet<>();
+        addColumnNames(names);
+        return names;
+    }
+
+    /**
+     * @return the names of the columns the condition holds to one value or to an IN list, those an index can
+     * search by equality
+     */
+    public Set<String> getEqualityColumns() {
+        final Set<String> names = new LinkedHashSet<>();
+        addEqualityColumns(names);
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return toSql() + " " + getValues();
+    }
+
+    static final class Compare extends Condition {
+        private final Column column;
+        private final String operator;
+        private final Object value;
+
+        Compare(final Column column, final String operator, final Object value) {
+            if (value == null) {
+                throw new IllegalArgumentException(column.getName() + " " + operator + " needs a value");
+            }
+            this.column = column;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        void appendSql(final StringBuilder sql) {
+            sql.append(column.getName()).append(' ').append(operator).append(" ?");
+        }
+
+        @Override
+        void addParameters(final List<Column> columns, final List<Object> values) {
+            columns.add(column);
+            values.add(value);
+        }
+
+        @Override
+        void addColumnNames(final Set<String> names) {
+            names.add(column.getName());
+        }
+
+        @Override
+        void addEqualityColumns(final Set<String> names) {
+            if ("=".equals(operator)) names.add(column.getName());
+        }
+    }
+
+    static final class Between extends Condition {
+        private final Column column;
+        private final Object low;
+        private final Object high;
+
+        Between(final Column column, final Object low, final Object high) {
+            if (low == null || high == null) {
+                throw new IllegalArgumentException(column.getName() + " BETWEEN needs two values");
+            }
+            this.column = column;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        void appendSql(final StringBuilder sql) {
+            sql.append(column.getName()).append(" BETWEEN ? AND ?");
+        }
+
+        @Override
+        void addParameters(final List<Column> columns, final List<Object> values) {
+            columns.add(column);
+            values.add(low);
+            columns.add(column);
+            values.add(high);
+        }
+
+        @Override
+        void addColumnNames(final Set<String> names) {
+            names.add(column.getName());
+        }
+    }
+
+    static final class Null extends Condition {
+        private final Column column;
+        private final boolean not;
+
+        Null(final Column column, final boolean not) {
+            this.column = column;
+            this.not = not;
+        }
+
+        @Override
+        void appendSql(final StringBuilder sql) {
+            sql.append(column.getName()).append(not ? " IS NOT NULL" : " IS NULL");
+        }
+
+        @Override
+        void addParameters(final List<Column> columns, final List<Object> values) {
+        }
+
+        @Override
+        void addColumnNames(final Set<String> names) {
+            names.add(column.getName());
+        }
+
+        @Override
+        void addEqualityColumns(final Set<String> names) {
+            if (!not) names.add(column.getName());
+        }
+    }
+
+    static final class In extends Condition {
+        private final Column column;
+        private final List<Object> values;
+        private final boolean not;
+
+        In(final Column column, final List<Object> values, final boolean not) {
+            if (values.contains(null)) {
+                throw new IllegalArgumentException(column.getName() + " IN can not hold null, use isNull");
+            }
+            this.column = column;
+            this.values = Collections.unmodifiableList(values);
+            this.not = not;
+        }
+
+        /** @return true if the statement can run once per chunk of the list, the results being the union */
+        boolean splittable() {
+            return !not && values.size() > 1;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        Column getColumn() {
+            return column;
+        }
+
+        /** @return the same condition on the values from index from to index to */
+        In chunk(final int from, final int to) {
+            return new In(column, new ArrayList<>(values.subList(from, to)), not);
+        }
+
+        @Override
+        void appendSql(final StringBuilder sql) {
+            if (values.isEmpty()) {
+                sql.append(not ? "1 = 1" : "1 = 0");
+                return;
+            }
+            sql.append(column.getName()).append(not ? " NOT IN (" : " IN (");
+            for (int i = 0; i < values.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+        }
+
+        @Override
+        void addParameters(final List<Column> columns, final List<Object> values) {
+            for (final Object value : this.values) {
+                columns.add(column);
+                values.add(value);
+            }
+        }
+
+        @Override
+        void addColumnNames(final Set<String> names) {
+            names.add(column.getName());
+        }
+
+        @Override
+        void addEqualityColumns(final Set<String> names) {
+            if (!not && !values.isEmpty()) names.add(column.getName());
+        }
+    }
+
+    static final class Group extends Condition {
+        private final String operator;
+        private final Condition[] conditions;
+
+        Group(final String operator, final Condition[] conditions) {
+            if (conditions.length == 0) {
+                throw new IllegalArgumentException("A group needs at least one condition");
+            }
+            this.operator = operator;
+            this.conditions = conditions.clone();
+        }
+
+        @Override
+        void appendSql(final StringBuilder sql) {
+            sql.append('(');
+            for (int i = 0; i < conditions.length; i++) {
+                if (i > 0) {
+                    sql.append(operator);
+                }
+                conditions[i].appendSql(sql);
+            }
+            sql.append(')');
+        }
+
+        @Override
+        void addParameters(final List<Column> columns, final List<Object> values) {
+            for (final Condition condition : conditions) {
+                condition.addParameters(columns, values);
+            }
+        }
+
+        @Override
+        void addColumnNames(final Set<String> names) {
+            for (final Condition condition : conditions) {
+                condition.addColumnNames(names);
+            }
+        }
+
+        @Override
+        void addEqualityColumns(final Set<String> names) {
+            if (!" AND ".equals(operator)) return;
+            for (final Condition condition : conditions) {
+                condition.addEqualityColumns(names);
+            }
+        }
+    }
+}
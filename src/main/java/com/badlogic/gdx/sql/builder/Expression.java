@@ -0,0 +1,86 @@
+/**<p>*********************************************************************************************************************
+ * <h1>Expression</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Update values computed by SQLite from the current value of the column
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+/**
+ * Value of an update that SQLite computes from the current value of the column, so that the change is applied
+ * atomically in the statement instead of by a read-modify-write:
+ * <pre>
+ * update.increment(KILLS, 1).max(BEST_SCORE, score).where(ID, playerId);
+ * UPDATE players SET kills = coalesce(kills, 0) + ?, best_score = max(coalesce(best_score, ?), ?) WHERE id = ?;
+ * </pre>
+ * A NULL column counts as 0 for an increment and as the value itself for max and min.
+ */
+public final class Expression {
+    private enum Kind { INCREMENT, MAX, MIN }
+
+    private final Kind kind;
+    private final Object value;
+
+    private Expression(final Kind kind, final Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException(kind.name().toLowerCase() + " needs a value");
+        }
+        this.kind = kind;
+        this.value = value;
+    }
+
+    /** @return column = column + delta, a negative delta decrements */
+    public static Expression increment(final Number delta) {
+        return new Expression(Kind.INCREMENT, delta);
+    }
+
+    /** @return column = max(column, value) */
+    public static Expression max(final Object value) {
+        return new Expression(Kind.MAX, value);
+    }
+
+    /** @return column = min(column, value) */
+    public static Expression min(final Object value) {
+        return new Expression(Kind.MIN, value);
+    }
+
+    /**
+     * @return the value the expression applies
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * @return the SQL computing the new value of column, with a ? for each of {@link #parameterCount()}
+     */
+    String toSql(final String column) {
+        switch (kind) {
+            case INCREMENT:
+                return "coalesce(" + column + ", 0) + ?";
+            case MAX:
+                return "max(coalesce(" + column + ", ?), ?)";
+            default:
+                return "min(coalesce(" + column + ", ?), ?)";
+        }
+    }
+
+    /**
+     * @return number of parameters of the SQL, each bound with the value
+     */
+    int parameterCount() {
+        return kind == Kind.INCREMENT ? 1 : 2;
+    }
+
+    @Override
+    public String toString() {
+        return kind.name().toLowerCase() + "(" + value + ")";
+    }
+}
@@ -0,0 +1,144 @@
+/**<p>*********************************************************************************************************************
+ * <h1>IndexDefinition</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Declared index over one or more columns, unique or partial
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An index declared next to the columns of a table, created by {@link com.badlogic.gdx.sql.SchemaBuilder}:
+ * <pre>
+ * IndexDefinition.on("items", OWNER, LEVEL);                          // idx_items_owner_level
+ * IndexDefinition.on("items", NAME).unique().where("name IS NOT NULL"); // partial unique index
+ * </pre>
+ * The column order matters, as for any composite index: equality columns first, then the range or order column.
+ */
+public final class IndexDefinition {
+    private final String table;
+    private final List<String> columns = new ArrayList<>();
+    private String name;
+    private boolean unique;
+    private String where;
+
+    private IndexDefinition(final String table) {
+        this.table = table;
+    }
+
+    /**
+     * @param table the indexed table
+     * @param columns the indexed columns, in order
+     * @return an index named idx_table_column..., see {@link #named(String)}
+     */
+    public static IndexDefinition on(final String table, final Column... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("An index needs at least one column");
+        }
+        final IndexDefinition index = new IndexDefinition(table);
+        for (final Column column : columns) {
+            index.columns.add(column.getName());
+        }
+        return index;
+    }
+
+    /**
+     * Adds a column in descending order, for an ORDER BY mixing directions.
+     *
+     * @param column the column
+     * @return the definition this was invoked on
+     */
+    public IndexDefinition descending(final Column column) {
+        this.columns.add(column.getName() + " DESC");
+        return this;
+    }
+
+    /**
+     * @param name name of the index, unique in the database
+     * @return the definition this was invoked on
+     */
+    public IndexDefinition named(final String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * @return the definition this was invoked on, now of a UNIQUE index
+     */
+    public IndexDefinition unique() {
+        this.unique = true;
+        return this;
+    }
+
+    /**
+     * Makes the index partial, only holding the rows matching predicate. A query only uses it when its where clause
+     * implies the predicate.
+     *
+     * @param predicate SQL expression on the columns of the table, with literal values, not parameters
+     * @return the definition this was invoked on
+     */
+    public IndexDefinition where(final String predicate) {
+        this.where = predicate;
+        return this;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return the name given with {@link #named(String)}, or idx_table_column...
+     */
+    public String getName() {
+        if (name != null) {
+            return name;
+        }
+        final StringBuilder sb = new StringBuilder("idx_").append(table);
+        for (final String column : columns) {
+            sb.append('_').append(column.split(" ")[0]);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the indexed columns, a descending one followed by DESC, read-only
+     */
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    /**
+     * @return the predicate of a partial index, null for a full one
+     */
+    public String getWhere() {
+        return where;
+    }
+
+    /**
+     * @return CREATE INDEX IF NOT EXISTS statement of this index
+     */
+    public String createStatement() {
+        return "CREATE " + (unique ? "UNIQUE " : "") + "INDEX IF NOT EXISTS " + getName() + " ON " + table
+            + " (" + String.join(", ", columns) + ")" + (where != null ? " WHERE " + where : "") + ";";
+    }
+
+    @Override
+    public String toString() {
+        return createStatement();
+    }
+}
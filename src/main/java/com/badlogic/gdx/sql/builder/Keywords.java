@@ -13,5 +13,10 @@ public class Keywords {
     public static final String WHERE = "WHERE";
     public static final String GROUP_BY = "GROUP BY";
     public static final String ORDER_BY = "ORDER BY";
+    public static final String LIMIT = "LIMIT";
+    public static final String OFFSET = "OFFSET";
+    public static final String ON_CONFLICT = "ON CONFLICT";
+    public static final String DO_UPDATE_SET = "DO UPDATE SET";
+    public static final String DO_NOTHING = "DO NOTHING";
 
 }
@@ -0,0 +1,318 @@
+/**<p>*********************************************************************************************************************
+ * <h1>MappingPlan</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Compiled row mapping used by ClassResultMapper
+ *           Constructor arguments bound by parameter or record component name
+ *           Fails when no constructor parameter name matches a column
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The resolved steps needed to turn one row of a result set into an instance of a class: the constructor to call
+ * with the reader of each of its arguments and, for every column that matches a public field, the field and the
+ * typed setter to use. A plan is built once for a class and a result set column shape, every row afterwards only
+ * executes it.
+ *
+ * @param <T> type of the mapped object
+ */
+final class MappingPlan<T> {
+
+    /** Copies one column of the current row into the target object. */
+    interface ColumnSetter {
+        void set(Object target, ResultSet rs) throws SQLException, IllegalAccessException;
+    }
+
+    /** Reads the value of one constructor argument from the current row. */
+    interface ValueReader {
+        Object read(ResultSet rs) throws SQLException;
+    }
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Class<T> tClass;
+    private final Constructor<T> constructor;
+    private final ValueReader[] arguments;
+    private final ColumnSetter[] setters;
+
+    private MappingPlan(final Class<T> tClass, final Constructor<T> constructor, final ValueReader[] arguments,
+                        final ColumnSetter[] setters) {
+        this.tClass = tClass;
+        this.constructor = constructor;
+        this.arguments = arguments;
+        this.setters = setters;
+    }
+
+    /**
+     * Resolves the constructor and the column bindings of tClass for the columns described by metaData. Records use
+     * their canonical constructor, other classes their public no-arg constructor or, when there is none, the public
+     * constructor with the most parameters. When the parameter names were not kept by the compiler they read arg0,
+     * arg1... and match no column, which fails here rather than mapping every row to default values.
+     *
+     * @param tClass class to map into
+     * @param metaData column description of the result set
+     * @return the compiled plan
+     * @throws SQLException if the column description can not be read
+     */
+    static <T> MappingPlan<T> compile(final Class<T> tClass, final ResultSetMetaData metaData) throws SQLException {
+        final int columnCount = metaData.getColumnCount();
+        final String[] labels = new String[columnCount + 1];
+        for (int i = 1; i <= columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i);
+        }
+
+        Constructor<T> constructor = null;
+        String[] names = null;
+        final RecordComponents record = RecordComponents.of(tClass);
+        if (record != null) {
+            constructor = record.canonicalConstructor(tClass);
+            names = record.names;
+        } else {
+            constructor = noArgConstructor(tClass);
+            if (constructor == null) {
+                constructor = widestConstructor(tClass);
+                names = parameterNames(constructor);
+            }
+        }
+
+        final ValueReader[] arguments;
+        if (names == null) {
+            arguments = new ValueReader[0];
+        } else {
+            final Class<?>[] types = constructor.getParameterTypes();
+            arguments = new ValueReader[types.length];
+            boolean matched = types.length == 0;
+            for (int p = 0; p < types.length; p++) {
+                final int index = column(labels, names[p]);
+                matched |= index > 0;
+                arguments[p] = reader(types[p], index);
+            }
+            if (!matched) {
+                throw new RuntimeException("No constructor parameter of type " + tClass.getSimpleName()
+                    + " matches a column, parameters " + Arrays.toString(names)
+                    + ". Compile it with -parameters or -g so that the parameter names are kept");
+            }
+        }
+
+        final List<ColumnSetter> setters = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            final Field field = publicField(tClass, labels[i]);
+            if (field != null) {
+                setters.add(setter(field, metaData.getColumnType(i), i));
+            }
+        }
+        return new MappingPlan<>(tClass, constructor, arguments, setters.toArray(new ColumnSetter[0]));
+    }
+
+    /**
+     * Creates a new instance and fills it from the current row of rs.
+     *
+     * @param rs result set positioned on the row to map
+     * @return the mapped object
+     * @throws SQLException if a column could not be read
+     */
+    T execute(final ResultSet rs) throws SQLException {
+        try {
+            final Object[] values = arguments.length == 0 ? NO_ARGUMENTS : new Object[arguments.length];
+            for (int p = 0; p < arguments.length; p++) {
+                values[p] = arguments[p].read(rs);
+            }
+            final T o = constructor.newInstance(values);
+            for (final ColumnSetter setter : setters) {
+                setter.set(o, rs);
+            }
+            return o;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException("Can't instantiate instance of type: " + tClass.getSimpleName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Constructor<T> noArgConstructor(final Class<T> tClass) {
+        for (final Constructor<?> c : tClass.getConstructors()) {
+            if (c.getParameterTypes().length == 0) {
+                return (Constructor<T>) c;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Constructor<T> widestConstructor(final Class<T> tClass) {
+        Constructor<?> widest = null;
+        for (final Constructor<?> c : tClass.getConstructors()) {
+            if (widest == null || c.getParameterTypes().length > widest.getParameterTypes().length) {
+                widest = c;
+            }
+        }
+        if (widest == null) {
+            throw new RuntimeException("Can't instantiate instance of type: " + tClass.getSimpleName());
+        }
+        return (Constructor<T>) widest;
+    }
+
+    private static String[] parameterNames(final Constructor<?> constructor) {
+        final List<String> names;
+        try {
+            names = ClassResultMapper.getParameterNames(constructor);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException("Can't read constructor parameter names of type: "
+                + constructor.getDeclaringClass().getSimpleName(), e);
+        }
+        if (names == null) {
+            throw new RuntimeException("Can't read constructor parameter names of type: "
+                + constructor.getDeclaringClass().getSimpleName());
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /** @return JDBC index of the column called name, exact match first then ignoring case, 0 if there is none */
+    private static int column(final String[] labels, final String name) {
+        for (int i = 1; i < labels.length; i++) {
+            if (labels[i].equals(name)) {
+                return i;
+            }
+        }
+        for (int i = 1; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static Field publicField(final Class<?> tClass, final String name) {
+        try {
+            final Field field = tClass.getField(name);
+            final int modifiers = field.getModifiers();
+            return Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) ? null : field;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static ColumnSetter setter(final Field field, final int type, final int columnIndex) {
+        switch (type) {
+            case Types.INTEGER:
+                return (o, rs) -> field.setInt(o, rs.getInt(columnIndex));
+            case Types.DOUBLE:
+                return (o, rs) -> field.setDouble(o, rs.getDouble(columnIndex));
+            case Types.BOOLEAN:
+                return (o, rs) -> field.setBoolean(o, rs.getBoolean(columnIndex));
+            case Types.VARCHAR:
+                return (o, rs) -> field.set(o, rs.getString(columnIndex));
+            default:
+                return (o, rs) -> field.set(o, rs.getObject(columnIndex));
+        }
+    }
+
+    /**
+     * @param type Java type of the constructor parameter
+     * @param columnIndex JDBC index of the column, 0 when the result set has no such column
+     * @return reader producing the argument value, the default value of the type for a missing column
+     */
+    private static ValueReader reader(final Class<?> type, final int columnIndex) {
+        if (columnIndex == 0) {
+            final Object missing = defaultValue(type);
+            return rs -> missing;
+        }
+        if (type == int.class) return rs -> rs.getInt(columnIndex);
+        if (type == long.class) return rs -> rs.getLong(columnIndex);
+        if (type == double.class) return rs -> rs.getDouble(columnIndex);
+        if (type == float.class) return rs -> rs.getFloat(columnIndex);
+        if (type == short.class) return rs -> rs.getShort(columnIndex);
+        if (type == byte.class) return rs -> rs.getByte(columnIndex);
+        if (type == boolean.class) return rs -> rs.getBoolean(columnIndex);
+        if (type == String.class) return rs -> rs.getString(columnIndex);
+        if (type == byte[].class) return rs -> rs.getBytes(columnIndex);
+        if (type == Integer.class) return rs -> AsmResultMapper.readInteger(rs, columnIndex);
+        if (type == Long.class) return rs -> AsmResultMapper.readLong(rs, columnIndex);
+        if (type == Double.class) return rs -> AsmResultMapper.readDouble(rs, columnIndex);
+        if (type == Float.class) return rs -> AsmResultMapper.readFloat(rs, columnIndex);
+        if (type == Short.class) return rs -> AsmResultMapper.readShort(rs, columnIndex);
+        if (type == Byte.class) return rs -> AsmResultMapper.readByte(rs, columnIndex);
+        if (type == Boolean.class) return rs -> AsmResultMapper.readBoolean(rs, columnIndex);
+        return rs -> rs.getObject(columnIndex);
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0d;
+        if (type == float.class) return 0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        return 0;
+    }
+
+    /**
+     * Names and types of the components of a record. Read through reflection so that the library still runs on
+     * Java versions (and Android levels) without records.
+     */
+    private static final class RecordComponents {
+        final String[] names;
+        final Class<?>[] types;
+
+        private RecordComponents(final String[] names, final Class<?>[] types) {
+            this.names = names;
+            this.types = types;
+        }
+
+        static RecordComponents of(final Class<?> tClass) {
+            try {
+                final Method isRecord = Class.class.getMethod("isRecord");
+                if (!Boolean.TRUE.equals(isRecord.invoke(tClass))) {
+                    return null;
+                }
+                final Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(tClass);
+                final String[] names = new String[components.length];
+                final Class<?>[] types = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    final Class<?> componentClass = components[i].getClass();
+                    names[i] = (String) componentClass.getMethod("getName").invoke(components[i]);
+                    types[i] = (Class<?>) componentClass.getMethod("getType").invoke(components[i]);
+                }
+                return new RecordComponents(names, types);
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("Can't read record components of type: " + tClass.getSimpleName(), e);
+            }
+        }
+
+        <T> Constructor<T> canonicalConstructor(final Class<T> tClass) {
+            try {
+                final Constructor<T> constructor = tClass.getDeclaredConstructor(types);
+                if (!Modifier.isPublic(constructor.getModifiers()) || !Modifier.isPublic(tClass.getModifiers())) {
+                    constructor.setAccessible(true);
+                }
+                return constructor;
+            } catch (NoSuchMethodException | SecurityException e) {
+                throw new RuntimeException("Can't instantiate instance of type: " + tClass.getSimpleName(), e);
+            }
+        }
+    }
+}
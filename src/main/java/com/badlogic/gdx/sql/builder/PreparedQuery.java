@@ -0,0 +1,191 @@
+/**<p>*********************************************************************************************************************
+ * <h1>PreparedQuery</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Immutable SELECT compiled once from a SqlBuilderSelect
+ *           getCursor on a StatementCache
+ *           getTable, parameterValues and executeQuery on a StatementCache
+ *           getResultMapper typed ResultMapper<?>
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import com.badlogic.gdx.sql.DatabaseCursor;
+import com.badlogic.gdx.sql.SQLiteGdxException;
+import com.badlogic.gdx.sql.StatementCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A SELECT statement compiled once from a {@link SqlBuilderSelect} by {@link SqlBuilderSelect#compile()}. The SQL
+ * text and the bind slots are fixed, so the query can be executed many times with new parameter values without
+ * rebuilding the statement or the builder maps.
+ * <p>
+ * There is one bind slot for each where clause that had a non null value when the builder was compiled, in the
+ * order the clauses were added, followed by the keyset values, the limit and the offset when set. Each slot is bound
+ * with the setter matching the {@link Column#getType()} of its column. Clauses compiled with a null value are part of
+ * the SQL text as IS NULL and take no slot.
+ */
+public final class PreparedQuery {
+    private final SqlBuilderSelect builder;
+    private final String table;
+    private final String sql;
+    private final List<Column> parameters;
+    private final int[] types;
+    private final Object[] defaults;
+
+    PreparedQuery(final SqlBuilderSelect builder, final String sql, final List<Column> parameters, final List<Object> defaults) {
+        this.builder = builder;
+        this.table = builder.table;
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(parameters);
+        this.types = new int[parameters.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = parameters.get(i).getType();
+        }
+        this.defaults = defaults.toArray();
+    }
+
+    /**
+     * @return the SELECT statement
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the table the query pulls data from
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @param values one value per slot, or none to use the values the builder was compiled with
+     * @return the values bound for values, in slot order
+     */
+    public List<Object> parameterValues(final Object... values) {
+        return Collections.unmodifiableList(Arrays.asList(resolve(values)));
+    }
+
+    /**
+     * @return the column of each bind slot, in order
+     */
+    public List<Column> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the mapper of the builder this query was compiled from
+     */
+    public ResultMapper<?> getResultMapper() {
+        return builder.resultMapper;
+    }
+
+    /**
+     * Binds the values to the slots of a statement prepared from {@link #getSql()}.
+     *
+     * @param ps statement prepared from this query
+     * @param values one value per slot, or none to use the values the builder was compiled with
+     * @throws SQLException if a value can not be bound
+     */
+    public void bind(final PreparedStatement ps, final Object... values) throws SQLException {
+        Binder.bind(ps, types, resolve(values));
+    }
+
+    /**
+     * @param values one value per slot, or none to use the values the builder was compiled with
+     * @return the values as the selection arguments of an Android query
+     */
+    public String[] bindArgs(final Object... values) {
+        return Binder.args(resolve(values));
+    }
+
+    /**
+     * Runs on Windows
+     *
+     * @param connection connection to the db to perform this query on
+     * @param values one value per slot, or none to use the values the builder was compiled with
+     * @return cursor over the result
+     * @throws SQLException if an error occurred performing the query
+     */
+    public DatabaseCursor getCursor(final Connection connection, final Object... values) throws SQLiteGdxException, SQLException {
+        final PreparedStatement ps = connection.prepareStatement(sql);
+        try {
+            bind(ps, values);
+            ps.closeOnCompletion();
+            return builder.cursor(ps.executeQuery());
+        } catch (SQLException | SQLiteGdxException | RuntimeException e) {
+            ps.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs on Windows: executes the query on a statement of the cache.
+     *
+     * @param cache statement cache of the connection to perform this query on
+     * @param values one value per slot, or none to use the values the builder was compiled with
+     * @return cursor over the result
+     * @throws SQLException if an error occurred performing the query
+     */
+    public DatabaseCursor getCursor(final StatementCache cache, final Object... values) throws SQLiteGdxException, SQLException {
+        return builder.cursor(executeQuery(cache, values));
+    }
+
+    /**
+     * Runs on Windows: executes the query on a statement of the cache.
+     *
+     * @param cache statement cache of the connection to perform this query on
+     * @param values one value per slot, or none to use the values the builder was compiled with
+     * @return the result, to be closed by the caller
+     * @throws SQLException if an error occurred performing the query
+     */
+    public ResultSet executeQuery(final StatementCache cache, final Object... values) throws SQLException {
+        final Object[] resolved = resolve(values);
+        return cache.executeQuery(sql, ps -> {
+            Binder.bind(ps, types, resolved);
+            return null;
+        });
+    }
+
+    /**
+     * Runs on Android
+     *
+     * @param androidDatabase Android Sqlite Database
+     * @param values one value per slot, or none to use the values the builder was compiled with
+     * @return cursor over the result
+     * @throws SQLiteGdxException if an error occurred performing the query
+     */
+    public DatabaseCursor getCursor(final Object androidDatabase, final Object... values) throws SQLiteGdxException {
+        return builder.getCursor(androidDatabase, sql, bindArgs(values));
+    }
+
+    private Object[] resolve(final Object[] values) {
+        if (values == null || values.length == 0) {
+            return defaults;
+        }
+        if (values.length != types.length) {
+            throw new IllegalArgumentException("Expected " + types.length + " parameter values but got " + values.length
+                + " for: " + sql);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return sql + " " + Arrays.toString(defaults);
+    }
+}
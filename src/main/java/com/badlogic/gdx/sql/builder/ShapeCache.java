@@ -0,0 +1,83 @@
+/**<p>*********************************************************************************************************************
+ * <h1>ShapeCache</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           Lookup of compiled mappers by result set column shape
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Finds the compiled value (a mapping plan, a generated mapper...) for the column shape of a result set. The shape
+ * is the ordered list of column labels and types. The result set seen last is remembered so that rows of the same
+ * result set skip reading the metadata altogether.
+ *
+ * @param <P> type of the compiled value
+ */
+final class ShapeCache<P> {
+
+    /** Builds the compiled value for a column shape that was not seen before. */
+    interface Compiler<P> {
+        P compile(ResultSetMetaData metaData) throws SQLException;
+    }
+
+    private static final class Last<P> {
+        final WeakReference<ResultSet> rs;
+        final P value;
+
+        Last(final ResultSet rs, final P value) {
+            this.rs = new WeakReference<>(rs);
+            this.value = value;
+        }
+    }
+
+    private final Map<String, P> byShape;
+    private volatile Last<P> last;
+
+    /**
+     * @param byShape compiled values keyed by shape, usually shared by every mapper of the same class
+     */
+    ShapeCache(final Map<String, P> byShape) {
+        this.byShape = byShape;
+    }
+
+    P get(final ResultSet rs, final Compiler<P> compiler) throws SQLException {
+        final Last<P> l = last;
+        if (l != null && l.rs.get() == rs) {
+            return l.value;
+        }
+        final ResultSetMetaData metaData = rs.getMetaData();
+        final String shape = key(metaData);
+        P value = byShape.get(shape);
+        if (value == null) {
+            value = compiler.compile(metaData);
+            final P existing = byShape.putIfAbsent(shape, value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        last = new Last<>(rs, value);
+        return value;
+    }
+
+    private static String key(final ResultSetMetaData metaData) throws SQLException {
+        final int columnCount = metaData.getColumnCount();
+        final StringBuilder sb = new StringBuilder(columnCount * 16);
+        for (int i = 1; i <= columnCount; i++) {
+            sb.append(metaData.getColumnLabel(i)).append(':').append(metaData.getColumnType(i)).append(',');
+        }
+        return sb.toString();
+    }
+}
@@ -7,6 +7,9 @@
  * 20201014  Original author       Evan White
  *           replacing DeleteBuilder
  *           changed to abstract class
+ * 20261017  parameterColumns, parameterValues and delete on a StatementCache
+ *           getTable and getClauses read-only accessors
+ *           where(Condition) predicates, IN lists over the parameter limit run in chunks
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  *
@@ -14,10 +17,16 @@
 package com.badlogic.gdx.sql.builder;
 
 import com.badlogic.gdx.sql.SQLiteGdxException;
+import com.badlogic.gdx.sql.SqliteLimits;
+import com.badlogic.gdx.sql.StatementCache;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.StringJoiner;
@@ -28,6 +37,7 @@ import static com.badlogic.gdx.sql.builder.Keywords.*;
 public abstract class SqlBuilderDelete {
     protected String table;
     protected final Map<Column, Object> clauses = new LinkedHashMap<>();
+    protected final List<Condition> conditions = new ArrayList<>();
 
     /**
      * @param table name of the table to delete data from
@@ -50,6 +60,38 @@ public abstract class SqlBuilderDelete {
         return this;
     }
 
+    /**
+     * Adds a condition to the delete statement to delete only certain rows, joined with AND to the other clauses.
+     *
+     * @param condition a comparison, range, IN list or OR group, see {@link Condition}
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderDelete where(final Condition condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * @return name of the table
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return the where clauses added so far, read-only
+     */
+    public Map<Column, Object> getClauses() {
+        return Collections.unmodifiableMap(clauses);
+    }
+
+    /**
+     * @return the conditions added with {@link #where(Condition)}, read-only
+     */
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
     /**
      * Builds a DELETE statement for the table and where clauses supplied to this builder.
      * Only be visible for testing.
@@ -57,15 +99,86 @@ public abstract class SqlBuilderDelete {
      * @return DELETE statement
      */
     protected String createStatement() {
-        return new StringJoiner(" ", DELETE, ";")
+        final StringJoiner sj = new StringJoiner(" ", DELETE, ";")
             .add(FROM)
-            .add(table)
-            .add(WHERE)
-            .add(clauses.entrySet()
-                .stream()
-                .map(e -> e.getKey().getName() + (e.getValue() == null ? " IS NULL" : " = ?"))
-                .collect(Collectors.joining(" AND ")))
-            .toString();
+            .add(table);
+        final List<String> predicates = clauses.entrySet()
+            .stream()
+            .map(e -> e.getKey().getName() + (e.getValue() == null ? " IS NULL" : " = ?"))
+            .collect(Collectors.toList());
+        for (final Condition condition : conditions) {
+            predicates.add(condition.toSql());
+        }
+        if (!predicates.isEmpty()) {
+            sj.add(WHERE)
+                .add(String.join(" AND ", predicates));
+        }
+        return sj.toString();
+    }
+
+    /**
+     * @return the column of each parameter of {@link #createStatement()}, in order
+     */
+    protected List<Column> parameterColumns() {
+        final List<Column> parameters = new ArrayList<>(clauses.size());
+        for (final Map.Entry<Column, Object> e : clauses.entrySet()) {
+            if (e.getValue() != null) {
+                parameters.add(e.getKey());
+            }
+        }
+        for (final Condition condition : conditions) {
+            condition.addParameters(parameters, new ArrayList<>());
+        }
+        return parameters;
+    }
+
+    /**
+     * Values to bind to the parameters of {@link #createStatement()}, in order. Implementations bind these instead
+     * of walking the clauses themselves.
+     *
+     * @return the value of each parameter
+     */
+    public List<Object> parameterValues() {
+        final List<Object> parameters = new ArrayList<>(clauses.size());
+        for (final Object value : clauses.values()) {
+            if (value != null) {
+                parameters.add(value);
+            }
+        }
+        for (final Condition condition : conditions) {
+            condition.addParameters(new ArrayList<>(), parameters);
+        }
+        return parameters;
+    }
+
+    /**
+     * Runs on Windows: executes the statement of this builder on a statement of the cache, once per chunk of its
+     * largest IN list when it has more parameters than SQLite accepts. Run it in a transaction to apply the chunks
+     * at once.
+     *
+     * @param cache statement cache of the connection to perform this statement on
+     * @return the number of rows affected
+     * @throws SQLException if the table name was empty or an error occurred performing the statement
+     */
+    public OptionalInt delete(final StatementCache cache) throws SQLException {
+        final List<Chunks.Bound> statements = Chunks.split(conditions, parameterCount(),
+            SqliteLimits.MAX_VARIABLE_NUMBER, () -> new Chunks.Bound(createStatement(), parameterColumns(), parameterValues()));
+        int rows = 0;
+        for (final Chunks.Bound statement : statements) {
+            rows += cache.execute(statement.sql, Statement.NO_GENERATED_KEYS, ps -> {
+                Binder.bind(ps, statement.columns, statement.values);
+                return ps.executeUpdate();
+            });
+        }
+        return OptionalInt.of(rows);
+    }
+
+    /**
+     * @return the number of parameters of {@link #createStatement()}, more than
+     * {@link SqliteLimits#MAX_VARIABLE_NUMBER} means the statement runs once per chunk of its largest IN list
+     */
+    public int parameterCount() {
+        return parameterColumns().size();
     }
 
     /**
@@ -7,6 +7,14 @@
  * 20201014  Original author       Evan White
  *           replacing InsertBuilder
  *           changed to abstract class
+ * 20261017  parameterColumns, parameterValues and insert on a StatementCache
+ *           columns, row and insertAll for batched inserts in one transaction
+ *           insertAll runs in a savepoint so that it nests in Handler.inTransaction
+ *           getTable and getValues read-only accessors
+ *           blob values bound as streams from an InputStream or ByteBuffer
+ *           insertAll(Object) defaults to insertEach, one insert per row
+ *           insertBatch, the rows of the batch inserted without reading back their row ids
+ *           insertAll and insertBatch docs describe the savepoint, the Android default is not atomic on its own
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  *
@@ -14,10 +22,19 @@
 package com.badlogic.gdx.sql.builder;
 
 import com.badlogic.gdx.sql.SQLiteGdxException;
+import com.badlogic.gdx.sql.StatementCache;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
 import java.util.StringJoiner;
@@ -28,6 +45,11 @@ import static com.badlogic.gdx.sql.builder.Keywords.*;
 public abstract class SqlBuilderInsert {
     protected String table;
     protected final Map<Column, Object> values = new LinkedHashMap<>();
+    protected final List<Object[]> rows = new ArrayList<>();
+
+    private static final String SAVEPOINT = "SAVEPOINT insert_all;";
+    private static final String RELEASE = "RELEASE insert_all;";
+    private static final String ROLLBACK_TO = "ROLLBACK TO insert_all;";
 
     /**
      * @param table name of the table to insert data into
@@ -50,6 +72,95 @@ public abstract class SqlBuilderInsert {
         return this;
     }
 
+    /**
+     * Adds a BLOB column to be inserted in the db, its content read from stream while the statement is bound. The
+     * statement can only be executed once. On JDBC a stream of unknown length is read into one array first.
+     *
+     * @param column a {@link Column} representing a BLOB column of the table in the db
+     * @param stream the content of the BLOB
+     * @param length number of bytes to read from stream, at most Integer.MAX_VALUE, -1 when unknown
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderInsert blob(final Column column, final InputStream stream, final long length) {
+        return value(column, BlobStream.of(stream, length));
+    }
+
+    /**
+     * Adds a BLOB column to be inserted in the db, its content read from the position to the limit of buffer, which can
+     * be direct. The position and limit of buffer are not changed.
+     *
+     * @param column a {@link Column} representing a BLOB column of the table in the db
+     * @param buffer the content of the BLOB
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderInsert blob(final Column column, final ByteBuffer buffer) {
+        return value(column, BlobStream.of(buffer));
+    }
+
+    /**
+     * Sets the columns inserted by the rows of a batch, see {@link #row(Object...)}.
+     *
+     * @param columns the columns, in the order of the row values
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderInsert columns(final Column... columns) {
+        this.values.clear();
+        for (final Column column : columns) {
+            this.values.put(column, null);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a row to the batch inserted by insertAll. All rows use the same table and columns.
+     *
+     * @param rowValues one value per column, in the order of {@link #columns(Column...)} or of the value calls
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderInsert row(final Object... rowValues) {
+        if (rowValues.length != values.size()) {
+            throw new IllegalArgumentException("Expected " + values.size() + " row values but got " + rowValues.length);
+        }
+        this.rows.add(rowValues.clone());
+        return this;
+    }
+
+    /**
+     * Removes the rows added to the batch, the columns are kept.
+     *
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderInsert clearRows() {
+        this.rows.clear();
+        return this;
+    }
+
+    /**
+     * @return the rows of the batch, the current values as a single row when no row was added
+     */
+    public List<Object[]> batchRows() {
+        if (rows.isEmpty()) {
+            final List<Object[]> single = new ArrayList<>(1);
+            single.add(values.values().toArray());
+            return single;
+        }
+        return rows;
+    }
+
+    /**
+     * @return name of the table
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return the columns and values set so far, read-only
+     */
+    public Map<Column, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
     /**
      * Builds a INSERT statement for the select columns in the table supplied to this builder.
      * Only be visible for testing.
@@ -74,7 +185,181 @@ public abstract class SqlBuilderInsert {
         return sj.toString();
     }
 
+    /**
+     * @return the column of each parameter of {@link #createStatement()}, in order
+     */
+    protected List<Column> parameterColumns() {
+        return new ArrayList<>(values.keySet());
+    }
+
+    /**
+     * Values to bind to the parameters of {@link #createStatement()}, in order. Implementations bind these instead
+     * of walking the values themselves.
+     *
+     * @return the value of each parameter
+     */
+    public List<Object> parameterValues() {
+        return new ArrayList<>(values.values());
+    }
+
+    /**
+     * Runs on Windows: executes the statement of this builder on a statement of the cache.
+     *
+     * @param cache statement cache of the connection to perform this statement on
+     * @return the row id of the inserted row, empty if no row was inserted
+     * @throws SQLException if the table name was empty or an error occurred performing the statement
+     */
+    public OptionalLong insert(final StatementCache cache) throws SQLException {
+        final List<Column> parameters = parameterColumns();
+        final List<Object> values = parameterValues();
+        return cache.execute(createStatement(), Statement.RETURN_GENERATED_KEYS, ps -> {
+            Binder.bind(ps, parameters, values);
+            if (ps.executeUpdate() == 0) {
+                return OptionalLong.empty();
+            }
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                return keys.next() ? OptionalLong.of(keys.getLong(1)) : OptionalLong.empty();
+            }
+        });
+    }
+
+    /**
+     * Runs on Windows: inserts every row of the batch in a savepoint, reusing one cached statement for all of them.
+     * Outside a transaction the savepoint commits on its own; inside one, the rows are kept or lost with that
+     * transaction.
+     *
+     * @param cache statement cache of the connection to perform this statement on
+     * @return the row id of each inserted row, in the order of the rows
+     * @throws SQLException if the table name was empty or an error occurred performing the statement, the rows of
+     * this batch are rolled back to the savepoint in that case
+     */
+    public long[] insertAll(final StatementCache cache) throws SQLException {
+        final List<Object[]> batch = batchRows();
+        final int[] types = new int[values.size()];
+        int c = 0;
+        for (final Column column : values.keySet()) {
+            types[c++] = column.getType();
+        }
+        cache.execute(SAVEPOINT, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+        try {
+            final long[] keys = cache.execute(createStatement(), Statement.RETURN_GENERATED_KEYS, ps -> {
+                final long[] ids = new long[batch.size()];
+                for (int r = 0; r < ids.length; r++) {
+                    Binder.bind(ps, types, batch.get(r));
+                    ps.executeUpdate();
+                    try (ResultSet generated = ps.getGeneratedKeys()) {
+                        ids[r] = generated.next() ? generated.getLong(1) : 0;
+                    }
+                }
+                return ids;
+            });
+            cache.execute(RELEASE, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+            return keys;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                cache.execute(ROLLBACK_TO, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+                cache.execute(RELEASE, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs on Windows: inserts every row of the batch in a savepoint as {@link #insertAll(StatementCache)},
+     * without reading back the row id of each row. The rows are sent as one JDBC batch on a statement that does not
+     * return generated keys, for loads that do not need the ids.
+     *
+     * @param cache statement cache of the connection to perform this statement on
+     * @return the number of rows inserted
+     * @throws SQLException if the table name was empty or an error occurred performing the statement, the rows of
+     * this batch are rolled back to the savepoint in that case
+     */
+    public int insertBatch(final StatementCache cache) throws SQLException {
+        final List<Object[]> batch = batchRows();
+        final int[] types = new int[values.size()];
+        int c = 0;
+        for (final Column column : values.keySet()) {
+            types[c++] = column.getType();
+        }
+        cache.execute(SAVEPOINT, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+        try {
+            final int inserted = cache.execute(createStatement(), Statement.NO_GENERATED_KEYS, ps -> {
+                for (final Object[] row : batch) {
+                    Binder.bind(ps, types, row);
+                    ps.addBatch();
+                }
+                int rows = 0;
+                for (final int count : ps.executeBatch()) {
+                    rows += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+                return rows;
+            });
+            cache.execute(RELEASE, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+            return inserted;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                cache.execute(ROLLBACK_TO, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+                cache.execute(RELEASE, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
     public abstract OptionalLong insert(final Connection connection) throws SQLiteGdxException, SQLException;
     public abstract OptionalLong insert(final Object androidDatabase) throws SQLiteGdxException;
 
+    /**
+     * Runs on Android: inserts every row of the batch. Backends override it, the default inserts the rows one at a
+     * time through {@link #insert(Object)} and is only atomic inside a transaction.
+     *
+     * @param androidDatabase Android Sqlite Database
+     * @return the row id of each inserted row, in the order of the rows
+     * @throws SQLiteGdxException if an error occurred performing the statement, with the default the rows before the
+     * failing one stay inserted unless the caller's transaction rolls back
+     */
+    public long[] insertAll(final Object androidDatabase) throws SQLiteGdxException {
+        try {
+            return insertEach(builder -> builder.insert(androidDatabase));
+        } catch (SQLException e) {
+            throw new SQLiteGdxException(e);
+        }
+    }
+
+    /** Inserts the current values of a builder, see {@link #insertEach(RowInsert)}. */
+    @FunctionalInterface
+    public interface RowInsert {
+        OptionalLong insert(SqlBuilderInsert builder) throws SQLiteGdxException, SQLException;
+    }
+
+    /**
+     * Inserts the rows of the batch one at a time, each row set as the values of this builder before insert runs.
+     * The values are restored afterwards. Fallback of the batched inserts for backends that do not implement them.
+     *
+     * @param insert inserts the current values of the builder
+     * @return the row id of each inserted row, in the order of the rows, 0 for a row that was not inserted
+     */
+    public long[] insertEach(final RowInsert insert) throws SQLiteGdxException, SQLException {
+        final Map<Column, Object> original = new LinkedHashMap<>(values);
+        final List<Column> columns = new ArrayList<>(values.keySet());
+        final List<Object[]> batch = new ArrayList<>(batchRows());
+        final long[] ids = new long[batch.size()];
+        try {
+            for (int r = 0; r < ids.length; r++) {
+                final Object[] row = batch.get(r);
+                for (int c = 0; c < row.length; c++) {
+                    values.put(columns.get(c), row[c]);
+                }
+                ids[r] = insert.insert(this).orElse(0);
+            }
+        } finally {
+            values.clear();
+            values.putAll(original);
+        }
+        return ids;
+    }
+
 }
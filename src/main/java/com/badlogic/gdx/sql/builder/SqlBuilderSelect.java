@@ -7,6 +7,15 @@
  * 20201014  Original author       Evan White
  *           replacing SelectBuilder
  *           changed to abstract class
+ * 20261017  compile into a reusable PreparedQuery, parameterColumns and parameterValues
+ *           getCursor on a StatementCache
+ *           getTable accessor, executeQuery on a StatementCache
+ *           limit and offset as bound parameters, keyset pagination with after, orders kept in insertion order
+ *           where(Condition) predicates, compileChunks for IN lists over the parameter limit
+ *           getColumns, getClauses, getGroupings and getOrders read-only accessors
+ *           cursor(ResultSet) and getCursor(Object, String, String[]) no longer abstract, for existing backends
+ *           keyset condition without row values, which need SQLite 3.15
+ *           wrapsResultSets, whether the backend wraps cached statement results in its own cursor
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  *
@@ -15,10 +24,14 @@
 package com.badlogic.gdx.sql.builder;
 
 import com.badlogic.gdx.sql.DatabaseCursor;
+import com.badlogic.gdx.sql.ResultSetCursor;
 import com.badlogic.gdx.sql.SQLiteGdxException;
+import com.badlogic.gdx.sql.StatementCache;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,9 +40,17 @@ public abstract class SqlBuilderSelect {
     protected String table;
     protected final List<String> columns = new ArrayList<>();
     protected final Map<Column, Object> clauses = new LinkedHashMap<>();
-    protected final Map<String, OrderType> orders = new HashMap<>();
+    protected final List<Condition> conditions = new ArrayList<>();
+    protected final Map<String, OrderType> orders = new LinkedHashMap<>();
+    protected final List<Column> orderColumns = new ArrayList<>();
     protected final List<String> groupings = new ArrayList<>();
     protected final ResultMapper resultMapper;
+    protected Long limit;
+    protected Long offset;
+    protected Object[] after;
+
+    private static final Column LIMIT_PARAMETER = parameter(LIMIT);
+    private static final Column OFFSET_PARAMETER = parameter(OFFSET);
 
     /**
      * Create a SelectBuilder with a custom {@link ResultMapper}
@@ -49,6 +70,13 @@ public abstract class SqlBuilderSelect {
         return this;
     }
 
+    /**
+     * @return name of the table to pull data from
+     */
+    public String getTable() {
+        return table;
+    }
+
     /**
      * Adds a column to be selected from the db. Never calling this results in all columns being selected.
      *
@@ -60,6 +88,13 @@ public abstract class SqlBuilderSelect {
         return this;
     }
 
+    /**
+     * @return names of the selected columns, empty when all columns are selected, read-only
+     */
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
     /**
      * Adds a clause to the select statement to filter results.
      *
@@ -72,6 +107,31 @@ public abstract class SqlBuilderSelect {
         return this;
     }
 
+    /**
+     * @return the equality clauses added with {@link #where(Column, Object)}, read-only
+     */
+    public Map<Column, Object> getClauses() {
+        return Collections.unmodifiableMap(clauses);
+    }
+
+    /**
+     * Adds a condition to the select statement to filter results, joined with AND to the other clauses.
+     *
+     * @param condition a comparison, range, IN list or OR group, see {@link Condition}
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderSelect where(final Condition condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * @return the conditions added with {@link #where(Condition)}, read-only
+     */
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
     /**
      * Adds a column to group the query results by.
      *
@@ -83,6 +143,13 @@ public abstract class SqlBuilderSelect {
         return this;
     }
 
+    /**
+     * @return names of the columns the results are grouped by, read-only
+     */
+    public List<String> getGroupings() {
+        return Collections.unmodifiableList(groupings);
+    }
+
     /**
      * Adds a column to order the query results by.
      *
@@ -91,10 +158,61 @@ public abstract class SqlBuilderSelect {
      * @return the builder this was invoked on
      */
     public SqlBuilderSelect orderBy(final Column column, final OrderType orderType) {
+        if (!orders.containsKey(column.getName())) {
+            orderColumns.add(column);
+        }
         orders.put(column.getName(), orderType);
         return this;
     }
 
+    /**
+     * @return names of the columns the results are ordered by and their order, null for the default, read-only
+     */
+    public Map<String, OrderType> getOrders() {
+        return Collections.unmodifiableMap(orders);
+    }
+
+    /**
+     * Limits the number of rows returned, bound as a parameter so the compiled query can be reused for any page size.
+     *
+     * @param limit maximum number of rows, negative for no limit
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderSelect limit(final long limit) {
+        this.limit = limit < 0 ? null : limit;
+        return this;
+    }
+
+    /**
+     * Skips rows before the first returned one. SQLite still steps over the skipped rows, for deep pages prefer
+     * {@link #after(Object...)}.
+     *
+     * @param offset number of rows to skip, 0 for none
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderSelect offset(final long offset) {
+        this.offset = offset <= 0 ? null : offset;
+        return this;
+    }
+
+    /**
+     * Keyset pagination: returns only the rows that come after the given row in the ORDER BY order, so the next page
+     * starts with an index seek instead of stepping over every row of the previous pages. Use it with
+     * {@link #limit(long)} and pass the order by values of the last row of the previous page.
+     * <p>
+     * With several order by columns the condition is the OR of comparisons a &gt; ? OR (a = ? AND b &gt; ?), led by
+     * a &gt;= ? so that the first column still seeks its index. Row value comparisons, (a, b) &gt; (?, ?), are not
+     * used: they need SQLite 3.15, which older Android versions do not ship. The order by columns must identify a
+     * row and hold no NULL, add the primary key as last order by column when needed.
+     *
+     * @param lastValues one value per order by column, in order, or null to start from the first page
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderSelect after(final Object... lastValues) {
+        this.after = lastValues == null ? null : lastValues.clone();
+        return this;
+    }
+
     /**
      * Builds a SELECT statement for the table, selected columns, and where clauses supplied to this builder.
      * Only be visible for testing.
@@ -109,11 +227,18 @@ public abstract class SqlBuilderSelect {
             sj.add(String.join(", ", columns));
         }
         sj.add(FROM).add(table);
-        if (!clauses.isEmpty()) {
+        final List<String> predicates = clauses.entrySet().stream()
+            .map(e -> e.getKey().getName() + (e.getValue() == null ? " IS NULL" : " = ?"))
+            .collect(Collectors.toList());
+        for (final Condition condition : conditions) {
+            predicates.add(condition.toSql());
+        }
+        if (after != null) {
+            predicates.add(keysetCondition());
+        }
+        if (!predicates.isEmpty()) {
             sj.add(WHERE)
-                .add(clauses.entrySet().stream()
-                    .map(e -> e.getKey().getName() + (e.getValue() == null ? " IS NULL" : " = ?"))
-                    .collect(Collectors.joining(" AND ")));
+                .add(String.join(" AND ", predicates));
         }
         if (!groupings.isEmpty()) {
             sj.add(GROUP_BY)
@@ -125,9 +250,191 @@ public abstract class SqlBuilderSelect {
                     .map(e -> e.getKey() + (e.getValue() == null ? "" : " " + e.getValue().name()))
                     .collect(Collectors.joining(", ")));
         }
+        if (limit != null || offset != null) {
+            sj.add(LIMIT).add(limit != null ? "?" : "-1");
+        }
+        if (offset != null) {
+            sj.add(OFFSET).add("?");
+        }
         return sj.toString();
     }
 
+    /**
+     * @return true when the keyset condition is a single comparison, false for the OR of comparisons led by the
+     * bound of the first column
+     */
+    private boolean keysetSingle() {
+        if (after.length != orderColumns.size()) {
+            throw new IllegalStateException("after needs one value per order by column, expected " + orderColumns.size()
+                + " but got " + after.length);
+        }
+        return after.length == 1;
+    }
+
+    private String keysetCondition() {
+        final boolean single = keysetSingle();
+        final List<String> names = new ArrayList<>(orders.keySet());
+        final boolean firstDescending = orders.get(names.get(0)) == OrderType.DESC;
+        if (single) {
+            return names.get(0) + (firstDescending ? " < ?" : " > ?");
+        }
+        final StringJoiner or = new StringJoiner(" OR ", names.get(0) + (firstDescending ? " <= ?" : " >= ?") + " AND (", ")");
+        for (int i = 0; i < names.size(); i++) {
+            final StringJoiner and = new StringJoiner(" AND ", "(", ")");
+            for (int j = 0; j < i; j++) {
+                and.add(names.get(j) + " = ?");
+            }
+            and.add(names.get(i) + (orders.get(names.get(i)) == OrderType.DESC ? " < ?" : " > ?"));
+            or.add(and.toString());
+        }
+        return or.toString();
+    }
+
+    private static Column parameter(final String name) {
+        return new Column() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public int getType() {
+                return Types.BIGINT;
+            }
+        };
+    }
+
+    /**
+     * @return the column of each parameter of {@link #createStatement()}, in order
+     */
+    protected List<Column> parameterColumns() {
+        final List<Column> parameters = new ArrayList<>(clauses.size());
+        for (final Map.Entry<Column, Object> e : clauses.entrySet()) {
+            if (e.getValue() != null) {
+                parameters.add(e.getKey());
+            }
+        }
+        for (final Condition condition : conditions) {
+            condition.addParameters(parameters, new ArrayList<>());
+        }
+        if (after != null) {
+            if (keysetSingle()) {
+                parameters.addAll(orderColumns);
+            } else {
+                parameters.add(orderColumns.get(0));
+                for (int i = 0; i < orderColumns.size(); i++) {
+                    parameters.addAll(orderColumns.subList(0, i + 1));
+                }
+            }
+        }
+        if (limit != null) {
+            parameters.add(LIMIT_PARAMETER);
+        }
+        if (offset != null) {
+            parameters.add(OFFSET_PARAMETER);
+        }
+        return parameters;
+    }
+
+    /**
+     * Values to bind to the parameters of {@link #createStatement()}, in order. Implementations bind these instead
+     * of walking the clauses themselves.
+     *
+     * @return the value of each parameter
+     */
+    public List<Object> parameterValues() {
+        final List<Object> values = new ArrayList<>(clauses.size());
+        for (final Object value : clauses.values()) {
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        for (final Condition condition : conditions) {
+            condition.addParameters(new ArrayList<>(), values);
+        }
+        if (after != null) {
+            if (keysetSingle()) {
+                values.addAll(Arrays.asList(after));
+            } else {
+                values.add(after[0]);
+                for (int i = 0; i < after.length; i++) {
+                    values.addAll(Arrays.asList(after).subList(0, i + 1));
+                }
+            }
+        }
+        if (limit != null) {
+            values.add(limit);
+        }
+        if (offset != null) {
+            values.add(offset);
+        }
+        return values;
+    }
+
+    /**
+     * Compiles the statement of this builder into an immutable {@link PreparedQuery} that can be executed many
+     * times with new parameter values. Later changes to this builder do not affect the compiled query.
+     *
+     * @return the compiled query
+     */
+    public PreparedQuery compile() {
+        return new PreparedQuery(this, createStatement(), parameterColumns(), parameterValues());
+    }
+
+    /**
+     * @return the number of parameters of {@link #createStatement()}
+     */
+    public int parameterCount() {
+        return parameterColumns().size();
+    }
+
+    /**
+     * Compiles the statement of this builder, split in one query per chunk of its largest IN list when it has more
+     * than maxParameters parameters. The rows of the queries together are the rows of the whole statement, each
+     * row once. Splitting is refused for a statement that orders, groups or pages its rows, as the chunks can only
+     * do it each on their own.
+     *
+     * @param maxParameters maximum number of parameters of one query, see {@link com.badlogic.gdx.sql.SqliteLimits}
+     * @return the compiled queries, a single one when the statement fits
+     * @throws IllegalStateException if the statement does not fit and can not be split
+     */
+    public List<PreparedQuery> compileChunks(final int maxParameters) {
+        final int count = parameterCount();
+        if (count > maxParameters && (!orders.isEmpty() || !groupings.isEmpty() || limit != null || offset != null
+            || after != null)) {
+            throw new IllegalStateException("Statement has " + count + " parameters, more than " + maxParameters
+                + ", and can not be split as it orders, groups or pages its rows");
+        }
+        return Chunks.split(conditions, count, maxParameters, this::compile);
+    }
+
+    /**
+     * Runs on Windows: executes the statement of this builder on a statement of the cache.
+     *
+     * @param cache statement cache of the connection to perform this query on
+     * @return cursor over the result
+     * @throws SQLException if an error occurred performing the query
+     */
+    public DatabaseCursor getCursor(final StatementCache cache) throws SQLiteGdxException, SQLException {
+        return cursor(executeQuery(cache));
+    }
+
+    /**
+     * Runs on Windows: executes the statement of this builder on a statement of the cache.
+     *
+     * @param cache statement cache of the connection to perform this query on
+     * @return the result, to be closed by the caller
+     * @throws SQLException if an error occurred performing the query
+     */
+    public ResultSet executeQuery(final StatementCache cache) throws SQLException {
+        final List<Column> parameters = parameterColumns();
+        final List<Object> values = parameterValues();
+        return cache.executeQuery(createStatement(), ps -> {
+            Binder.bind(ps, parameters, values);
+            return null;
+        });
+    }
+
     protected abstract Object preparedStatementAndroid(Object androidDatabase) throws SQLiteGdxException;
     protected abstract Object preparedStatementWin(Connection connection) throws SQLiteGdxException, SQLException;
 
@@ -143,4 +450,50 @@ public abstract class SqlBuilderSelect {
     /** Runs on Android */
     public abstract DatabaseCursor getCursor(DatabaseCursor cursor, Object androidDatabase) throws SQLiteGdxException;
 
+    /**
+     * Runs on Windows: wraps the result of a statement prepared outside of this builder, see {@link PreparedQuery}.
+     * Backends override it to return their own cursor, the default is a {@link ResultSetCursor}.
+     * <p>
+     * The returned cursor must not close the Statement of resultSet, only resultSet itself: the statement may be
+     * cached by a {@link StatementCache} and reused by the next query, which fails on a closed statement. A cursor
+     * following the getCursor(Connection) pattern, closing its PreparedStatement on close, can not be returned here.
+     */
+    protected DatabaseCursor cursor(final ResultSet resultSet) throws SQLiteGdxException, SQLException {
+        return new ResultSetCursor(resultSet);
+    }
+
+    /**
+     * @return true if the class of this builder overrides {@link #cursor(ResultSet)}, so that a query on a
+     * {@link StatementCache} returns the cursor of the backend. The Handler runs the other builders through the
+     * getCursor of their database
+     */
+    public final boolean wrapsResultSets() {
+        return WRAPS_RESULT_SETS.get(getClass());
+    }
+
+    private static final ClassValue<Boolean> WRAPS_RESULT_SETS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> c = type; c != SqlBuilderSelect.class && c != null; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("cursor", ResultSet.class);
+                    return true;
+                } catch (NoSuchMethodException ignored) {
+                }
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Runs on Android: runs sql with the given selection arguments, see {@link PreparedQuery}. Backends override it,
+     * the default throws.
+     *
+     * @throws SQLiteGdxException always, unless overridden
+     */
+    protected DatabaseCursor getCursor(final Object androidDatabase, final String sql, final String[] selectionArgs) throws SQLiteGdxException {
+        throw new SQLiteGdxException("Compiled queries are not supported by " + getClass().getName()
+            + ", it does not override getCursor(Object, String, String[])");
+    }
+
 }
@@ -7,6 +7,12 @@
  * 20201014  Original author       Evan White
  *           replacing DeleteBuilder
  *           changed to abstract class
+ * 20261017  parameterColumns, parameterValues and update on a StatementCache
+ *           getTable, getValues and getClauses read-only accessors
+ *           blob values bound as streams from an InputStream or ByteBuffer
+ *           where(Condition) predicates, IN lists over the parameter limit run in chunks
+ *           increment, max and min expression updates
+ *           an expression on the column of a chunked IN list is rejected
  * =====================================================================================================================
  * INFO, ERRORS AND WARNINGS:
  *
@@ -14,10 +20,18 @@
 package com.badlogic.gdx.sql.builder;
 
 import com.badlogic.gdx.sql.SQLiteGdxException;
+import com.badlogic.gdx.sql.SqliteLimits;
+import com.badlogic.gdx.sql.StatementCache;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.StringJoiner;
@@ -28,6 +42,7 @@ public abstract class SqlBuilderUpdate {
     protected String table;
     protected final Map<Column, Object> values = new LinkedHashMap<>();
     protected final Map<Column, Object> clauses = new LinkedHashMap<>();
+    protected final List<Condition> conditions = new ArrayList<>();
 
     /**
      * @param table name of the table to update data on
@@ -50,6 +65,76 @@ public abstract class SqlBuilderUpdate {
         return this;
     }
 
+    /**
+     * Adds a BLOB column to be updated in the db, its content read from stream while the statement is bound. The
+     * statement can only be executed once. On JDBC a stream of unknown length is read into one array first.
+     *
+     * @param column a {@link Column} representing a BLOB column of the table in the db
+     * @param stream the content of the BLOB
+     * @param length number of bytes to read from stream, at most Integer.MAX_VALUE, -1 when unknown
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpdate blob(final Column column, final InputStream stream, final long length) {
+        return value(column, BlobStream.of(stream, length));
+    }
+
+    /**
+     * Adds a BLOB column to be updated in the db, its content read from the position to the limit of buffer, which can
+     * be direct. The position and limit of buffer are not changed.
+     *
+     * @param column a {@link Column} representing a BLOB column of the table in the db
+     * @param buffer the content of the BLOB
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpdate blob(final Column column, final ByteBuffer buffer) {
+        return value(column, BlobStream.of(buffer));
+    }
+
+    /**
+     * Adds a column computed by SQLite from its current value, see {@link Expression}.
+     *
+     * @param column a {@link Column} representing a column of the table in the db
+     * @param expression how the new value is computed
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpdate value(final Column column, final Expression expression) {
+        this.values.put(column, expression);
+        return this;
+    }
+
+    /**
+     * Adds column = column + delta, NULL counting as 0.
+     *
+     * @param column a {@link Column} representing a numeric column of the table in the db
+     * @param delta the amount to add, negative to subtract
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpdate increment(final Column column, final Number delta) {
+        return value(column, Expression.increment(delta));
+    }
+
+    /**
+     * Adds column = max(column, value), a NULL column taking value.
+     *
+     * @param column a {@link Column} representing a column of the table in the db
+     * @param value the value to keep if larger than the current one
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpdate max(final Column column, final Object value) {
+        return value(column, Expression.max(value));
+    }
+
+    /**
+     * Adds column = min(column, value), a NULL column taking value.
+     *
+     * @param column a {@link Column} representing a column of the table in the db
+     * @param value the value to keep if smaller than the current one
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpdate min(final Column column, final Object value) {
+        return value(column, Expression.min(value));
+    }
+
     /**
      * Adds a clause to the update statement to update only certain rows.
      *
@@ -62,6 +147,45 @@ public abstract class SqlBuilderUpdate {
         return this;
     }
 
+    /**
+     * Adds a condition to the update statement to update only certain rows, joined with AND to the other clauses.
+     *
+     * @param condition a comparison, range, IN list or OR group, see {@link Condition}
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpdate where(final Condition condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * @return name of the table
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return the columns and values set so far, an {@link Expression} for a computed value, read-only
+     */
+    public Map<Column, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return the where clauses added so far, read-only
+     */
+    public Map<Column, Object> getClauses() {
+        return Collections.unmodifiableMap(clauses);
+    }
+
+    /**
+     * @return the conditions added with {@link #where(Condition)}, read-only
+     */
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
     /**
      * Builds a UPDATE statement for the select columns in the table and where clauses supplied to this builder.
      * Only be visible for testing.
@@ -72,19 +196,130 @@ public abstract class SqlBuilderUpdate {
         final StringJoiner sj = new StringJoiner(" ", UPDATE, ";")
             .add(table)
             .add(SET);
-        sj.add(values.keySet().stream()
-            .map(s -> s.getName() + " = ?")
+        sj.add(values.entrySet().stream()
+            .map(e -> e.getKey().getName() + " = " + (e.getValue() instanceof Expression
+                ? ((Expression) e.getValue()).toSql(e.getKey().getName()) : "?"))
             .collect(Collectors.joining(", ")));
-        if (!clauses.isEmpty()) {
+        final List<String> predicates = clauses.entrySet()
+            .stream()
+            .map(s -> s.getKey().getName() + (s.getValue() == null ? " IS NULL" : " = ?"))
+            .collect(Collectors.toList());
+        for (final Condition condition : conditions) {
+            predicates.add(condition.toSql());
+        }
+        if (!predicates.isEmpty()) {
             sj.add(WHERE)
-                .add(clauses.entrySet()
-                    .stream()
-                    .map(s -> s.getKey().getName() + (s.getValue() == null ? " IS NULL" : " = ?"))
-                    .collect(Collectors.joining(" AND ")));
+                .add(String.join(" AND ", predicates));
         }
         return sj.toString();
     }
 
+    /**
+     * @return the column of each parameter of {@link #createStatement()}, in order
+     */
+    protected List<Column> parameterColumns() {
+        final List<Column> parameters = new ArrayList<>(values.size() + clauses.size());
+        for (final Map.Entry<Column, Object> e : values.entrySet()) {
+            final int count = e.getValue() instanceof Expression ? ((Expression) e.getValue()).parameterCount() : 1;
+            for (int i = 0; i < count; i++) {
+                parameters.add(e.getKey());
+            }
+        }
+        for (final Map.Entry<Column, Object> e : clauses.entrySet()) {
+            if (e.getValue() != null) {
+                parameters.add(e.getKey());
+            }
+        }
+        for (final Condition condition : conditions) {
+            condition.addParameters(parameters, new ArrayList<>());
+        }
+        return parameters;
+    }
+
+    /**
+     * Values to bind to the parameters of {@link #createStatement()}, in order. Implementations bind these instead
+     * of walking the values and clauses themselves.
+     *
+     * @return the value of each parameter
+     */
+    public List<Object> parameterValues() {
+        final List<Object> parameters = new ArrayList<>(values.size() + clauses.size());
+        for (final Object value : values.values()) {
+            if (value instanceof Expression) {
+                final Expression expression = (Expression) value;
+                for (int i = 0; i < expression.parameterCount(); i++) {
+                    parameters.add(expression.getValue());
+                }
+            } else {
+                parameters.add(value);
+            }
+        }
+        for (final Object value : clauses.values()) {
+            if (value != null) {
+                parameters.add(value);
+            }
+        }
+        for (final Condition condition : conditions) {
+            condition.addParameters(new ArrayList<>(), parameters);
+        }
+        return parameters;
+    }
+
+    /**
+     * Runs on Windows: executes the statement of this builder on a statement of the cache, once per chunk of its
+     * largest IN list when it has more parameters than SQLite accepts. Run it in a transaction to apply the chunks
+     * at once.
+     *
+     * @param cache statement cache of the connection to perform this statement on
+     * @return the number of rows affected
+     * @throws SQLException if the table name was empty or an error occurred performing the statement
+     * @throws IllegalStateException if an {@link Expression} computes the column of the IN list to split, see
+     * {@link #checkChunks()}
+     */
+    public OptionalInt update(final StatementCache cache) throws SQLException {
+        checkChunks();
+        final List<Chunks.Bound> statements = Chunks.split(conditions, parameterCount(),
+            SqliteLimits.MAX_VARIABLE_NUMBER, () -> new Chunks.Bound(createStatement(), parameterColumns(), parameterValues()));
+        int rows = 0;
+        for (final Chunks.Bound statement : statements) {
+            rows += cache.execute(statement.sql, Statement.NO_GENERATED_KEYS, ps -> {
+                Binder.bind(ps, statement.columns, statement.values);
+                return ps.executeUpdate();
+            });
+        }
+        return OptionalInt.of(rows);
+    }
+
+    /**
+     * An update split in chunks must not change the column of the split IN list with an {@link Expression}: a row
+     * updated by one chunk could match a later chunk with its new value and be updated twice, as with
+     * increment(x) where x IN (1, 2, ...). Nothing is checked while the statement fits in one.
+     *
+     * @throws IllegalStateException if the statement would be split and an expression computes the split column
+     */
+    protected void checkChunks() {
+        if (parameterCount() <= SqliteLimits.MAX_VARIABLE_NUMBER) return;
+        final int index = Chunks.splitIndex(conditions);
+        if (index < 0) return;
+        final String split = ((Condition.In) conditions.get(index)).getColumn().getName();
+        for (final Map.Entry<Column, Object> e : values.entrySet()) {
+            if (e.getValue() instanceof Expression && e.getKey().getName().equalsIgnoreCase(split)) {
+                throw new IllegalStateException("Update of " + table + " computes " + split
+                    + " with an expression and its IN list is split in chunks, a row could be updated twice."
+                    + " Keep the statement within " + SqliteLimits.MAX_VARIABLE_NUMBER + " parameters or select the rows"
+                    + " by another column");
+            }
+        }
+    }
+
+    /**
+     * @return the number of parameters of {@link #createStatement()}, more than
+     * {@link SqliteLimits#MAX_VARIABLE_NUMBER} means the statement runs once per chunk of its largest IN list
+     */
+    public int parameterCount() {
+        return parameterColumns().size();
+    }
+
     /**
      * Builds the PreparedStatement and sets the necessary values for any where clauses
      *
@@ -0,0 +1,422 @@
+/**<p>*********************************************************************************************************************
+ * <h1>SqlBuilderUpsert</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           INSERT ... ON CONFLICT DO UPDATE, single row or batched in one savepoint
+ *           accumulate columns, added to the existing value on a conflict
+ *           upsert and upsertAll no longer abstract, for backends without BuildSqlUpsert
+ *           upsertAll docs describe the savepoint, the Android default is not atomic on its own
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import com.badlogic.gdx.sql.SQLiteGdxException;
+import com.badlogic.gdx.sql.StatementCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import static com.badlogic.gdx.sql.builder.Keywords.*;
+
+/**
+ * Inserts a row or, when it conflicts with an existing row on the conflict target (a primary key or unique index),
+ * updates that row instead, in one statement:
+ * <pre>
+ * INSERT INTO t (id, x, y) VALUES (?, ?, ?) ON CONFLICT (id) DO UPDATE SET x = excluded.x, y = excluded.y;
+ * </pre>
+ * Without update columns every inserted column that is not part of the conflict target is updated. Needs SQLite
+ * 3.24 or newer.
+ */
+public abstract class SqlBuilderUpsert {
+    protected String table;
+    protected final Map<Column, Object> values = new LinkedHashMap<>();
+    protected final List<Object[]> rows = new ArrayList<>();
+    protected final List<Column> conflictColumns = new ArrayList<>();
+    protected final List<Column> updateColumns = new ArrayList<>();
+    protected final List<Column> accumulateColumns = new ArrayList<>();
+    protected boolean doNothing;
+
+    private static final String SAVEPOINT = "SAVEPOINT upsert_all;";
+    private static final String RELEASE = "RELEASE upsert_all;";
+    private static final String ROLLBACK_TO = "ROLLBACK TO upsert_all;";
+
+    /**
+     * @param table name of the table to save data into
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert table(final String table) {
+        this.table = table;
+        return this;
+    }
+
+    /**
+     * Adds a column to be inserted or updated in the db.
+     *
+     * @param column a {@link Column} representing a column of the table in the db
+     * @param value the desired value of the column. Can be null
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert value(final Column column, final Object value) {
+        this.values.put(column, value);
+        return this;
+    }
+
+    /**
+     * Sets the conflict target, the columns of the primary key or of a unique index of the table.
+     *
+     * @param columns the columns identifying a row
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert onConflict(final Column... columns) {
+        this.conflictColumns.clear();
+        this.conflictColumns.addAll(Arrays.asList(columns));
+        return this;
+    }
+
+    /**
+     * Sets the columns updated on a conflict, all inserted columns outside of the conflict target when never
+     * called.
+     *
+     * @param columns the columns to update, each taking the value that was to be inserted
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert update(final Column... columns) {
+        this.updateColumns.clear();
+        this.updateColumns.addAll(Arrays.asList(columns));
+        this.doNothing = false;
+        return this;
+    }
+
+    /**
+     * Sets the columns whose inserted value is added to the existing one on a conflict, col = coalesce(col, 0) +
+     * excluded.col, a NULL counting as 0. Used to apply counter deltas whether the row exists or not. The columns are
+     * updated in addition to the update columns.
+     *
+     * @param columns the numeric columns to accumulate
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert accumulate(final Column... columns) {
+        this.accumulateColumns.clear();
+        this.accumulateColumns.addAll(Arrays.asList(columns));
+        this.doNothing = false;
+        return this;
+    }
+
+    /**
+     * Keeps the existing row on a conflict: ON CONFLICT DO NOTHING.
+     *
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert doNothing() {
+        this.updateColumns.clear();
+        this.accumulateColumns.clear();
+        this.doNothing = true;
+        return this;
+    }
+
+    /**
+     * Sets the columns saved by the rows of a batch, see {@link #row(Object...)}.
+     *
+     * @param columns the columns, in the order of the row values
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert columns(final Column... columns) {
+        this.values.clear();
+        for (final Column column : columns) {
+            this.values.put(column, null);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a row to the batch saved by upsertAll. All rows use the same table, columns and conflict clause.
+     *
+     * @param rowValues one value per column, in the order of {@link #columns(Column...)} or of the value calls
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert row(final Object... rowValues) {
+        if (rowValues.length != values.size()) {
+            throw new IllegalArgumentException("Expected " + values.size() + " row values but got " + rowValues.length);
+        }
+        this.rows.add(rowValues.clone());
+        return this;
+    }
+
+    /**
+     * Removes the rows added to the batch, the columns are kept.
+     *
+     * @return the builder this was invoked on
+     */
+    public SqlBuilderUpsert clearRows() {
+        this.rows.clear();
+        return this;
+    }
+
+    /**
+     * @return the rows of the batch, the current values as a single row when no row was added
+     */
+    public List<Object[]> batchRows() {
+        if (rows.isEmpty()) {
+            final List<Object[]> single = new ArrayList<>(1);
+            single.add(values.values().toArray());
+            return single;
+        }
+        return rows;
+    }
+
+    /**
+     * @return name of the table
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return the columns and values set so far, read-only
+     */
+    public Map<Column, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return the columns updated on a conflict, accumulated ones included, empty for DO NOTHING
+     */
+    public List<Column> getUpdateColumns() {
+        if (doNothing) {
+            return Collections.emptyList();
+        }
+        final List<Column> columns = new ArrayList<>(values.size());
+        if (!updateColumns.isEmpty()) {
+            columns.addAll(updateColumns);
+        } else {
+            for (final Column column : values.keySet()) {
+                if (!contains(conflictColumns, column)) {
+                    columns.add(column);
+                }
+            }
+        }
+        for (final Column column : accumulateColumns) {
+            if (!contains(columns, column)) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    private static boolean contains(final List<Column> columns, final Column column) {
+        for (final Column c : columns) {
+            if (c.getName().equalsIgnoreCase(column.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds an INSERT ... ON CONFLICT statement for the table, columns and conflict clause supplied to this builder.
+     *
+     * @return INSERT statement
+     * @throws IllegalStateException if no conflict column was set
+     */
+    public String createStatement() {
+        if (conflictColumns.isEmpty()) {
+            throw new IllegalStateException("Upsert into " + table + " needs the conflict target, see onConflict");
+        }
+        final List<Column> update = getUpdateColumns();
+        final StringJoiner sj = new StringJoiner(" ", INSERT, ";")
+            .add(INTO)
+            .add(table)
+            .add(values.keySet()
+                .stream()
+                .map(Column::getName)
+                .collect(Collectors.joining(", ", "(", ")")))
+            .add(VALUES)
+            .add(values.keySet()
+                .stream()
+                .map(p -> "?")
+                .collect(Collectors.joining(", ", "(", ")")))
+            .add(ON_CONFLICT)
+            .add(conflictColumns
+                .stream()
+                .map(Column::getName)
+                .collect(Collectors.joining(", ", "(", ")")));
+        if (update.isEmpty()) {
+            sj.add(DO_NOTHING);
+        } else {
+            sj.add(DO_UPDATE_SET)
+                .add(update
+                    .stream()
+                    .map(c -> c.getName() + " = " + (contains(accumulateColumns, c)
+                        ? "coalesce(" + c.getName() + ", 0) + excluded." + c.getName() : "excluded." + c.getName()))
+                    .collect(Collectors.joining(", ")));
+        }
+        return sj.toString();
+    }
+
+    /**
+     * @return the column of each parameter of {@link #createStatement()}, in order
+     */
+    protected List<Column> parameterColumns() {
+        return new ArrayList<>(values.keySet());
+    }
+
+    /**
+     * Values to bind to the parameters of {@link #createStatement()}, in order. Implementations bind these instead
+     * of walking the values themselves.
+     *
+     * @return the value of each parameter
+     */
+    public List<Object> parameterValues() {
+        return new ArrayList<>(values.values());
+    }
+
+    /**
+     * Runs on Windows: executes the statement of this builder on a statement of the cache.
+     *
+     * @param cache statement cache of the connection to perform this statement on
+     * @return the number of rows inserted or updated, 0 when DO NOTHING kept the existing row
+     * @throws SQLException if the table name was empty or an error occurred performing the statement
+     */
+    public OptionalInt upsert(final StatementCache cache) throws SQLException {
+        final List<Column> parameters = parameterColumns();
+        final List<Object> values = parameterValues();
+        return cache.execute(createStatement(), Statement.NO_GENERATED_KEYS, ps -> {
+            Binder.bind(ps, parameters, values);
+            return OptionalInt.of(ps.executeUpdate());
+        });
+    }
+
+    /**
+     * Runs on Windows: saves every row of the batch in a savepoint, reusing one cached statement for all of them.
+     * Outside a transaction the savepoint commits on its own; inside one, the rows are kept or lost with that
+     * transaction.
+     *
+     * @param cache statement cache of the connection to perform this statement on
+     * @return the number of rows inserted or updated
+     * @throws SQLException if the table name was empty or an error occurred performing the statement, the rows of
+     * this batch are rolled back to the savepoint in that case
+     */
+    public int upsertAll(final StatementCache cache) throws SQLException {
+        final List<Object[]> batch = batchRows();
+        final int[] types = new int[values.size()];
+        int c = 0;
+        for (final Column column : values.keySet()) {
+            types[c++] = column.getType();
+        }
+        cache.execute(SAVEPOINT, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+        try {
+            final int changed = cache.execute(createStatement(), Statement.NO_GENERATED_KEYS, ps -> {
+                int count = 0;
+                for (final Object[] row : batch) {
+                    Binder.bind(ps, types, row);
+                    count += ps.executeUpdate();
+                }
+                return count;
+            });
+            cache.execute(RELEASE, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+            return changed;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                cache.execute(ROLLBACK_TO, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+                cache.execute(RELEASE, Statement.NO_GENERATED_KEYS, PreparedStatement::execute);
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs on Windows: executes the statement of this builder on a statement of its own. Backends may override it,
+     * the default prepares, binds and closes the statement.
+     *
+     * @param connection connection to the db to perform this statement on
+     * @return the number of rows inserted or updated, 0 when DO NOTHING kept the existing row
+     * @throws SQLException if the table name was empty or an error occurred performing the statement
+     */
+    public OptionalInt upsert(final Connection connection) throws SQLiteGdxException, SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(createStatement())) {
+            Binder.bind(ps, parameterColumns(), parameterValues());
+            return OptionalInt.of(ps.executeUpdate());
+        }
+    }
+
+    /**
+     * Runs on Android. Backends override it, the default throws.
+     *
+     * @param androidDatabase Android Sqlite Database
+     * @return the number of rows inserted or updated
+     * @throws SQLiteGdxException always, unless overridden
+     */
+    public OptionalInt upsert(final Object androidDatabase) throws SQLiteGdxException {
+        throw new SQLiteGdxException("Upserts are not supported by " + getClass().getName()
+            + ", it does not override upsert(Object)");
+    }
+
+    /**
+     * Runs on Android: saves every row of the batch. Backends override it, the default saves the rows one at a time
+     * through {@link #upsert(Object)} and is only atomic inside a transaction.
+     *
+     * @param androidDatabase Android Sqlite Database
+     * @return the number of rows inserted or updated
+     * @throws SQLiteGdxException if an error occurred performing the statement, with the default the rows before the
+     * failing one stay saved unless the caller's transaction rolls back
+     */
+    public int upsertAll(final Object androidDatabase) throws SQLiteGdxException {
+        try {
+            return upsertEach(builder -> builder.upsert(androidDatabase));
+        } catch (SQLException e) {
+            throw new SQLiteGdxException(e);
+        }
+    }
+
+    /** Saves the current values of a builder, see {@link #upsertEach(RowUpsert)}. */
+    @FunctionalInterface
+    public interface RowUpsert {
+        OptionalInt upsert(SqlBuilderUpsert builder) throws SQLiteGdxException, SQLException;
+    }
+
+    /**
+     * Saves the rows of the batch one at a time, each row set as the values of this builder before upsert runs. The
+     * values are restored afterwards. Fallback of the batched upserts for backends that do not implement them.
+     *
+     * @param upsert saves the current values of the builder
+     * @return the number of rows inserted or updated
+     */
+    public int upsertEach(final RowUpsert upsert) throws SQLiteGdxException, SQLException {
+        final Map<Column, Object> original = new LinkedHashMap<>(values);
+        final List<Column> columns = new ArrayList<>(values.keySet());
+        final List<Object[]> batch = new ArrayList<>(batchRows());
+        int changed = 0;
+        try {
+            for (final Object[] row : batch) {
+                for (int c = 0; c < row.length; c++) {
+                    values.put(columns.get(c), row[c]);
+                }
+                changed += upsert.upsert(this).orElse(0);
+            }
+        } finally {
+            values.clear();
+            values.putAll(original);
+        }
+        return changed;
+    }
+
+}
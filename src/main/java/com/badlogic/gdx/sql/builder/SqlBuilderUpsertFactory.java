@@ -0,0 +1,58 @@
+/**<p>*********************************************************************************************************************
+ * <h1>SqlBuilderUpsertFactory</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           reference to {@link DatabaseManager.java}
+ *           builder running on the default methods when the backend has no BuildSqlUpsert
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ * EQ08
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.sql.ConstantClassPath;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.lang.reflect.InvocationTargetException;
+
+public class SqlBuilderUpsertFactory {
+    private static final String desktopClassname = ConstantClassPath.sqlitePackageDesktop+".builder.BuildSqlUpsert";
+    private static final String androidClassname = ConstantClassPath.sqlitePackageAndroid+".builder.BuildSqlUpsert";
+    private SqlBuilderUpsert sqlBuilderUpsert = null;
+
+    /* ERROR CODES */
+    private static final String EQ08 = "Error getting BuildSql class: %s: %s";
+
+    public SqlBuilderUpsert builderUpsert() throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        switch (Gdx.app.getType()) {
+            case Android:
+                try {
+                    sqlBuilderUpsert = (SqlBuilderUpsert) Class.forName(androidClassname).getDeclaredConstructor().newInstance();
+                } catch (ClassNotFoundException ex) {
+                    sqlBuilderUpsert = new SqlBuilderUpsert() {};
+                } catch (Throwable ex) {
+                    String errorMsg = String.format(EQ08, androidClassname, ex);
+                    throw new GdxRuntimeException(errorMsg);
+                }
+                break;
+            case Desktop:
+                try {
+                    sqlBuilderUpsert = (SqlBuilderUpsert) Class.forName(desktopClassname).getDeclaredConstructor().newInstance();
+                } catch (ClassNotFoundException ex) {
+                    sqlBuilderUpsert = new SqlBuilderUpsert() {};
+                } catch (Throwable ex) {
+                    String errorMsg = String.format(EQ08, desktopClassname, ex);
+                    throw new GdxRuntimeException(errorMsg);
+                }
+                break;
+            default:
+                break;
+        }
+        return sqlBuilderUpsert;
+    }
+}
@@ -0,0 +1,34 @@
+/**<p>*********************************************************************************************************************
+ * <h1>Statements</h1>
+ * @since 20261017
+ * =====================================================================================================================
+ * DATE      VSN/MOD               BY....
+ * =====================================================================================================================
+ * 20261017  @version 01           @author ORIGINAL AUTHOR
+ *           Initial version
+ *           SQL text of the update and delete builders, their createStatement staying protected
+ * =====================================================================================================================
+ * INFO, ERRORS AND WARNINGS:
+ *
+ **********************************************************************************************************************</p>*/
+package com.badlogic.gdx.sql.builder;
+
+/**
+ * Reads the statement of a {@link SqlBuilderUpdate} or {@link SqlBuilderDelete} from outside of the builder package,
+ * for the {@link com.badlogic.gdx.sql.DatabaseListener} of the Handler and the benchmarks. createStatement stays
+ * protected on both builders, the platform builders override it.
+ */
+public final class Statements {
+
+    private Statements() {}
+
+    /** @return the UPDATE statement of builder, see {@link SqlBuilderUpdate#createStatement()} */
+    public static String sql(final SqlBuilderUpdate builder) {
+        return builder.createStatement();
+    }
+
+    /** @return the DELETE statement of builder, see {@link SqlBuilderDelete#createStatement()} */
+    public static String sql(final SqlBuilderDelete builder) {
+        return builder.createStatement();
+    }
+}